@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2020-2026, Antonio Gabriel Muñoz Conejo <me at tonivade dot es>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.purejson;
+
+import static java.lang.invoke.MethodType.methodType;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.RecordComponent;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Accessors to fields, record components and constructors used by the reflective adapters. They
+ * are built on {@link MethodHandle}s, created only once per type and adapted to generic
+ * signatures, so each access is a direct {@code invokeExact} without the access checks, the array
+ * of arguments and the wrapped exceptions of the core reflection api, and the JIT can inline them.
+ */
+final class Accessors {
+
+  private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+  private static final MethodType GETTER = methodType(Object.class, Object.class);
+  private static final MethodType SETTER = methodType(void.class, Object.class, Object.class);
+  private static final MethodType FACTORY = methodType(Object.class, Object[].class);
+
+  private Accessors() {}
+
+  @FunctionalInterface
+  interface Getter {
+    Object get(Object target);
+  }
+
+  @FunctionalInterface
+  interface Setter {
+    void set(Object target, @Nullable Object value);
+  }
+
+  @FunctionalInterface
+  interface Factory<T> {
+    T create(@Nullable Object[] values);
+  }
+
+  /**
+   * @param field an accessible field
+   * @return
+   */
+  static Getter getter(Field field) {
+    var handle = unreflect(field, () -> LOOKUP.unreflectGetter(field)).asType(GETTER);
+    return target -> {
+      try {
+        return (Object) handle.invokeExact(target);
+      } catch (Throwable e) {
+        throw failure("cannot get field " + field, e);
+      }
+    };
+  }
+
+  static Getter getter(RecordComponent component) {
+    var accessor = component.getAccessor();
+    accessor.trySetAccessible();
+    var handle = unreflect(accessor, () -> LOOKUP.unreflect(accessor)).asType(GETTER);
+    return target -> {
+      try {
+        return (Object) handle.invokeExact(target);
+      } catch (Throwable e) {
+        throw failure("cannot get record component " + component, e);
+      }
+    };
+  }
+
+  /**
+   * @param field an accessible field
+   * @return
+   */
+  static Setter setter(Field field) {
+    var handle = unreflect(field, () -> LOOKUP.unreflectSetter(field)).asType(SETTER);
+    return (target, value) -> {
+      try {
+        handle.invokeExact(target, value);
+      } catch (Throwable e) {
+        throw failure("cannot set field " + field, e);
+      }
+    };
+  }
+
+  /**
+   * Creates a factory that calls the constructor, the values are the arguments of the constructor.
+   *
+   * @param <T>
+   * @param constructor
+   * @return
+   */
+  static <T> Factory<T> factory(Constructor<T> constructor) {
+    constructor.trySetAccessible();
+    var handle = unreflect(constructor, () -> LOOKUP.unreflectConstructor(constructor))
+        .asSpreader(Object[].class, constructor.getParameterCount())
+        .asType(FACTORY);
+    var type = constructor.getDeclaringClass();
+    return values -> {
+      try {
+        return type.cast((Object) handle.invokeExact(values));
+      } catch (Throwable e) {
+        throw failure("cannot create instance of " + type.getName() + " using constructor " + constructor, e);
+      }
+    };
+  }
+
+  private static MethodHandle unreflect(Object member, Unreflect unreflect) {
+    try {
+      return unreflect.apply();
+    } catch (IllegalAccessException e) {
+      throw new IllegalStateException("cannot access to " + member, e);
+    }
+  }
+
+  private static RuntimeException failure(String message, Throwable e) {
+    if (e instanceof Error error) {
+      throw error;
+    }
+    return new IllegalStateException(message, e);
+  }
+
+  @FunctionalInterface
+  private interface Unreflect {
+    MethodHandle apply() throws IllegalAccessException;
+  }
+}
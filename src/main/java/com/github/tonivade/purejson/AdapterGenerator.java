@@ -0,0 +1,627 @@
+/*
+ * Copyright (c) 2020-2026, Antonio Gabriel Muñoz Conejo <me at tonivade dot es>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.purejson;
+
+import static java.lang.invoke.MethodType.methodType;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.RecordComponent;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.github.tonivade.purefun.type.Option;
+
+/**
+ * Generates at runtime the same adapter that the annotation processor generates for a record
+ * annotated with {@code @Json}, so types that cannot be annotated, like records of other
+ * libraries, have straight-line accessors and constructor calls instead of reflection.
+ *
+ * <p>The adapter is defined as a hidden class in this package, the adapters of its components and
+ * the {@link JsonFields} used to decode it are passed as class data, so they are constants for the
+ * JIT. The generated code has no branches: fields are dispatched by {@link JsonFields}, and the
+ * decoded values are passed directly to the canonical constructor.
+ *
+ * <p>Only records that are accessible from this package, and whose components are also accessible,
+ * are generated, the rest use the reflective adapters. Generation can be disabled with the system
+ * property {@code purejson.generate=false}.
+ */
+final class AdapterGenerator {
+
+  private static final boolean ENABLED =
+      Boolean.parseBoolean(System.getProperty("purejson.generate", "true"));
+
+  private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+  private static final String PACKAGE = "com/github/tonivade/purejson/";
+  private static final String NAME = PACKAGE + "GeneratedAdapter";
+  private static final String OBJECT = "java/lang/Object";
+  private static final String ENCODER = PACKAGE + "JsonEncoder";
+  private static final String FIELDS = PACKAGE + "JsonFields";
+  private static final String WRITER = PACKAGE + "JsonWriter";
+  private static final String JSON_OBJECT = PACKAGE + "JsonNode$JsonObject";
+  private static final String ENCODER_DESC = "L" + ENCODER + ";";
+  private static final String FIELDS_DESC = "L" + FIELDS + ";";
+  private static final String CLASS_DATA = "_";
+
+  private static final ClassValue<Option<JsonAdapter<?>>> CACHE = new ClassValue<>() {
+    @Override
+    protected Option<JsonAdapter<?>> computeValue(Class<?> type) {
+      try {
+        return Option.some(create(type));
+      } catch (ReflectiveOperationException | LinkageError e) {
+        // not accessible from this package, it fallbacks to reflection
+        return Option.none();
+      }
+    }
+  };
+
+  private AdapterGenerator() {}
+
+  /**
+   * @param <T>
+   * @param type
+   * @return the generated adapter of the record, or none if the type is not a record or it cannot
+   *         be accessed from the generated code
+   */
+  @SuppressWarnings("unchecked")
+  static <T> Option<JsonAdapter<T>> generate(Class<T> type) {
+    if (!ENABLED || !type.isRecord()) {
+      return Option.none();
+    }
+    return CACHE.get(type).map(adapter -> (JsonAdapter<T>) adapter);
+  }
+
+  private static JsonAdapter<?> create(Class<?> type) throws ReflectiveOperationException {
+    var components = type.getRecordComponents();
+    var types = Arrays.stream(components).map(RecordComponent::getType).toArray(Class<?>[]::new);
+    checkAccess(type);
+    for (var component : types) {
+      checkAccess(component);
+    }
+    LOOKUP.findConstructor(type, methodType(void.class, types));
+    for (var component : components) {
+      LOOKUP.findVirtual(type, component.getName(), methodType(component.getType()));
+    }
+
+    var classData = new ArrayList<Object>();
+    for (var component : components) {
+      classData.add(JsonEncoder.encoder(component.getGenericType()));
+    }
+    classData.add(new JsonFields(
+        Arrays.stream(components).map(RecordComponent::getName).toList(),
+        Arrays.stream(components).map(c -> JsonDecoder.decoder(c.getGenericType())).toList(),
+        Arrays.stream(components).map(RecordComponent::getType).toList()));
+
+    var bytes = new AdapterWriter(type, components).write();
+    var lookup = LOOKUP.defineHiddenClassWithClassData(bytes, List.copyOf(classData), true);
+    return (JsonAdapter<?>) lookup.lookupClass().getDeclaredConstructor().newInstance();
+  }
+
+  /**
+   * The generated code references the type by name, so it must be accessible from this package and
+   * resolved to the same class by the class loader of this package.
+   */
+  private static void checkAccess(Class<?> type) throws ReflectiveOperationException {
+    while (type.isArray()) {
+      type = type.getComponentType();
+    }
+    if (type.isPrimitive()) {
+      return;
+    }
+    LOOKUP.accessClass(type);
+    if (Class.forName(type.getName(), false, LOOKUP.lookupClass().getClassLoader()) != type) {
+      throw new ClassNotFoundException(type.getName());
+    }
+  }
+
+  /**
+   * Writes the class file of the adapter. It's equivalent to:
+   *
+   * <pre>
+   * final class GeneratedAdapter implements JsonAdapter {
+   *   static final JsonEncoder E0 = classDataAt(lookup(), "_", JsonEncoder.class, 0);
+   *   ...
+   *   static final JsonFields FIELDS = classDataAt(lookup(), "_", JsonFields.class, n);
+   *
+   *   public JsonNode encode(Object value) {
+   *     var object = new JsonObject();
+   *     object.add("a", E0.encode(((Type) value).a()));
+   *     ...
+   *     return object;
+   *   }
+   *
+   *   public void encode(Object value, JsonWriter writer) {
+   *     writer.beginObject();
+   *     writer.name("a");
+   *     E0.encode(((Type) value).a(), writer);
+   *     ...
+   *     writer.endObject();
+   *   }
+   *
+   *   public Object decode(JsonNode json) {
+   *     var values = FIELDS.decodeObject(json);
+   *     return new Type((A) values[0], ...);
+   *   }
+   *
+   *   public Object decode(JsonReader reader) {
+   *     var values = FIELDS.decodeObject(reader);
+   *     return new Type((A) values[0], ...);
+   *   }
+   * }
+   * </pre>
+   */
+  private static final class AdapterWriter {
+
+    private final ConstantPool pool = new ConstantPool();
+    private final ByteVector methods = new ByteVector();
+    private int methodCount;
+
+    private final String type;
+    private final RecordComponent[] components;
+    private final String constructor;
+
+    AdapterWriter(Class<?> type, RecordComponent[] components) {
+      this.type = internalName(type);
+      this.components = components;
+      var descriptor = new StringBuilder("(");
+      for (var component : components) {
+        descriptor.append(component.getType().descriptorString());
+      }
+      this.constructor = descriptor.append(")V").toString();
+    }
+
+    byte[] write() {
+      int thisClass = pool.classRef(NAME);
+      int superClass = pool.classRef(OBJECT);
+      int adapterInterface = pool.classRef(PACKAGE + "JsonAdapter");
+
+      initMethod();
+      staticInitMethod();
+      encodeTreeMethod();
+      encodeWriterMethod();
+      decodeMethod("(L" + PACKAGE + "JsonNode;)Ljava/lang/Object;", "(L" + PACKAGE + "JsonNode;)[Ljava/lang/Object;");
+      decodeMethod("(L" + PACKAGE + "JsonReader;)Ljava/lang/Object;", "(L" + PACKAGE + "JsonReader;)[Ljava/lang/Object;");
+
+      var fields = new ByteVector();
+      for (int i = 0; i < components.length; i++) {
+        field(fields, encoderField(i), ENCODER_DESC);
+      }
+      field(fields, "FIELDS", FIELDS_DESC);
+
+      var file = new ByteVector();
+      file.putInt(0xCAFEBABE);
+      file.putShort(0);
+      file.putShort(61);
+      file.putShort(pool.count());
+      file.putBytes(pool.bytes());
+      file.putShort(ACC_FINAL | ACC_SUPER | ACC_SYNTHETIC);
+      file.putShort(thisClass);
+      file.putShort(superClass);
+      file.putShort(1);
+      file.putShort(adapterInterface);
+      file.putShort(components.length + 1);
+      file.putBytes(fields);
+      file.putShort(methodCount);
+      file.putBytes(methods);
+      file.putShort(0);
+      return file.toByteArray();
+    }
+
+    private void field(ByteVector fields, String name, String descriptor) {
+      fields.putShort(ACC_PRIVATE | ACC_STATIC | ACC_FINAL);
+      fields.putShort(pool.utf8(name));
+      fields.putShort(pool.utf8(descriptor));
+      fields.putShort(0);
+    }
+
+    private void initMethod() {
+      var code = new Code(1);
+      code.aload(0);
+      code.invoke(INVOKESPECIAL, OBJECT, "<init>", "()V");
+      code.op(RETURN, 0);
+      method(ACC_PUBLIC, "<init>", "()V", code);
+    }
+
+    private void staticInitMethod() {
+      var code = new Code(0);
+      for (int i = 0; i <= components.length; i++) {
+        boolean last = i == components.length;
+        code.invoke(INVOKESTATIC, "java/lang/invoke/MethodHandles", "lookup",
+            "()Ljava/lang/invoke/MethodHandles$Lookup;");
+        code.ldc(pool.string(CLASS_DATA));
+        code.ldc(pool.classRef(last ? FIELDS : ENCODER));
+        code.push(i);
+        code.invoke(INVOKESTATIC, "java/lang/invoke/MethodHandles", "classDataAt",
+            "(Ljava/lang/invoke/MethodHandles$Lookup;Ljava/lang/String;Ljava/lang/Class;I)Ljava/lang/Object;");
+        code.typeOp(CHECKCAST, last ? FIELDS : ENCODER);
+        code.field(PUTSTATIC, last ? "FIELDS" : encoderField(i), last ? FIELDS_DESC : ENCODER_DESC);
+      }
+      code.op(RETURN, 0);
+      method(ACC_STATIC, "<clinit>", "()V", code);
+    }
+
+    private void encodeTreeMethod() {
+      var code = new Code(3);
+      code.typeOp(NEW, JSON_OBJECT);
+      code.op(DUP, 1);
+      code.invoke(INVOKESPECIAL, JSON_OBJECT, "<init>", "()V");
+      code.astore(2);
+      for (int i = 0; i < components.length; i++) {
+        code.aload(2);
+        code.ldc(pool.string(components[i].getName()));
+        code.field(GETSTATIC, encoderField(i), ENCODER_DESC);
+        component(code, i);
+        code.invoke(INVOKEINTERFACE, ENCODER, "encode", "(Ljava/lang/Object;)L" + PACKAGE + "JsonNode;");
+        code.invoke(INVOKEVIRTUAL, JSON_OBJECT, "add", "(Ljava/lang/String;L" + PACKAGE + "JsonNode;)V");
+      }
+      code.aload(2);
+      code.op(ARETURN, -1);
+      method(ACC_PUBLIC, "encode", "(Ljava/lang/Object;)L" + PACKAGE + "JsonNode;", code);
+    }
+
+    private void encodeWriterMethod() {
+      var code = new Code(3);
+      code.aload(2);
+      code.invoke(INVOKEVIRTUAL, WRITER, "beginObject", "()L" + WRITER + ";");
+      code.op(POP, -1);
+      for (int i = 0; i < components.length; i++) {
+        code.aload(2);
+        code.ldc(pool.string(components[i].getName()));
+        code.invoke(INVOKEVIRTUAL, WRITER, "name", "(Ljava/lang/String;)L" + WRITER + ";");
+        code.op(POP, -1);
+        code.field(GETSTATIC, encoderField(i), ENCODER_DESC);
+        component(code, i);
+        code.aload(2);
+        code.invoke(INVOKEINTERFACE, ENCODER, "encode", "(Ljava/lang/Object;L" + WRITER + ";)V");
+      }
+      code.aload(2);
+      code.invoke(INVOKEVIRTUAL, WRITER, "endObject", "()L" + WRITER + ";");
+      code.op(POP, -1);
+      code.op(RETURN, 0);
+      method(ACC_PUBLIC, "encode", "(Ljava/lang/Object;L" + WRITER + ";)V", code);
+    }
+
+    private void decodeMethod(String descriptor, String fieldsDescriptor) {
+      var code = new Code(3);
+      code.field(GETSTATIC, "FIELDS", FIELDS_DESC);
+      code.aload(1);
+      code.invoke(INVOKEVIRTUAL, FIELDS, "decodeObject", fieldsDescriptor);
+      code.astore(2);
+      code.typeOp(NEW, type);
+      code.op(DUP, 1);
+      for (int i = 0; i < components.length; i++) {
+        code.aload(2);
+        code.push(i);
+        code.op(AALOAD, -1);
+        unbox(code, components[i].getType());
+      }
+      code.invoke(INVOKESPECIAL, type, "<init>", constructor);
+      code.op(ARETURN, -1);
+      method(ACC_PUBLIC, "decode", descriptor, code);
+    }
+
+    /**
+     * Pushes the boxed value of the component of the first argument.
+     */
+    private void component(Code code, int i) {
+      var component = components[i];
+      var componentType = component.getType();
+      code.aload(1);
+      code.typeOp(CHECKCAST, type);
+      code.invoke(INVOKEVIRTUAL, type, component.getName(), "()" + componentType.descriptorString());
+      if (componentType.isPrimitive()) {
+        var box = wrapper(componentType);
+        code.invoke(INVOKESTATIC, box, "valueOf", "(" + componentType.descriptorString() + ")L" + box + ";");
+      }
+    }
+
+    private static void unbox(Code code, Class<?> componentType) {
+      if (componentType.isPrimitive()) {
+        var box = wrapper(componentType);
+        code.typeOp(CHECKCAST, box);
+        code.invoke(INVOKEVIRTUAL, box, componentType.getName() + "Value", "()" + componentType.descriptorString());
+      } else if (componentType != Object.class) {
+        code.typeOp(CHECKCAST, internalName(componentType));
+      }
+    }
+
+    private void method(int access, String name, String descriptor, Code code) {
+      methodCount++;
+      methods.putShort(access);
+      methods.putShort(pool.utf8(name));
+      methods.putShort(pool.utf8(descriptor));
+      methods.putShort(1);
+      methods.putShort(pool.utf8("Code"));
+      var bytes = code.bytes();
+      methods.putInt(12 + bytes.size());
+      methods.putShort(code.maxStack());
+      methods.putShort(code.maxLocals());
+      methods.putInt(bytes.size());
+      methods.putBytes(bytes);
+      methods.putShort(0);
+      methods.putShort(0);
+    }
+
+    private static String encoderField(int i) {
+      return "E" + i;
+    }
+
+    private static String wrapper(Class<?> primitive) {
+      return internalName(methodType(primitive).wrap().returnType());
+    }
+
+    private static String internalName(Class<?> type) {
+      return type.isArray() ? type.descriptorString() : type.getName().replace('.', '/');
+    }
+
+    private static final int ACC_PUBLIC = 0x0001;
+    private static final int ACC_PRIVATE = 0x0002;
+    private static final int ACC_STATIC = 0x0008;
+    private static final int ACC_FINAL = 0x0010;
+    private static final int ACC_SUPER = 0x0020;
+    private static final int ACC_SYNTHETIC = 0x1000;
+
+    private static final int DUP = 0x59;
+    private static final int POP = 0x57;
+    private static final int AALOAD = 0x32;
+    private static final int ARETURN = 0xB0;
+    private static final int RETURN = 0xB1;
+    private static final int GETSTATIC = 0xB2;
+    private static final int PUTSTATIC = 0xB3;
+    private static final int INVOKEVIRTUAL = 0xB6;
+    private static final int INVOKESPECIAL = 0xB7;
+    private static final int INVOKESTATIC = 0xB8;
+    private static final int INVOKEINTERFACE = 0xB9;
+    private static final int NEW = 0xBB;
+    private static final int CHECKCAST = 0xC0;
+
+    /**
+     * Bytecode of a method without branches, it keeps track of the size of the stack.
+     */
+    private final class Code {
+
+      private final ByteVector bytes = new ByteVector();
+      private final int maxLocals;
+      private int stack;
+      private int maxStack;
+
+      Code(int maxLocals) {
+        this.maxLocals = maxLocals;
+      }
+
+      void op(int opcode, int delta) {
+        bytes.putByte(opcode);
+        grow(delta);
+      }
+
+      void aload(int local) {
+        op(0x2A + local, 1);
+      }
+
+      void astore(int local) {
+        op(0x4B + local, -1);
+      }
+
+      void push(int value) {
+        if (value <= 5) {
+          op(0x03 + value, 1);
+        } else if (value <= Byte.MAX_VALUE) {
+          op(0x10, 1);
+          bytes.putByte(value);
+        } else {
+          op(0x11, 1);
+          bytes.putShort(value);
+        }
+      }
+
+      void ldc(int index) {
+        op(0x13, 1);
+        bytes.putShort(index);
+      }
+
+      void typeOp(int opcode, String type) {
+        op(opcode, opcode == NEW ? 1 : 0);
+        bytes.putShort(pool.classRef(type));
+      }
+
+      void field(int opcode, String name, String descriptor) {
+        op(opcode, opcode == GETSTATIC ? 1 : -1);
+        bytes.putShort(pool.fieldRef(NAME, name, descriptor));
+      }
+
+      void invoke(int opcode, String owner, String name, String descriptor) {
+        int end = descriptor.indexOf(')');
+        int arguments = slots(descriptor.substring(1, end));
+        int delta = slots(descriptor.substring(end + 1)) - arguments;
+        if (opcode != INVOKESTATIC) {
+          delta--;
+        }
+        op(opcode, delta);
+        if (opcode == INVOKEINTERFACE) {
+          bytes.putShort(pool.interfaceMethodRef(owner, name, descriptor));
+          bytes.putByte(arguments + 1);
+          bytes.putByte(0);
+        } else {
+          bytes.putShort(pool.methodRef(owner, name, descriptor));
+        }
+      }
+
+      ByteVector bytes() {
+        return bytes;
+      }
+
+      int maxStack() {
+        return maxStack;
+      }
+
+      int maxLocals() {
+        return maxLocals;
+      }
+
+      private void grow(int delta) {
+        stack += delta;
+        maxStack = Math.max(maxStack, stack);
+      }
+
+      /**
+       * @param descriptors a sequence of type descriptors
+       * @return the number of slots of the stack used by the types
+       */
+      private static int slots(String descriptors) {
+        int slots = 0;
+        int i = 0;
+        while (i < descriptors.length()) {
+          char c = descriptors.charAt(i);
+          if (c == 'V') {
+            i++;
+            continue;
+          }
+          slots += c == 'J' || c == 'D' ? 2 : 1;
+          while (descriptors.charAt(i) == '[') {
+            i++;
+          }
+          i = descriptors.charAt(i) == 'L' ? descriptors.indexOf(';', i) + 1 : i + 1;
+        }
+        return slots;
+      }
+    }
+  }
+
+  private static final class ConstantPool {
+
+    private final ByteVector bytes = new ByteVector();
+    private final Map<String, Integer> entries = new HashMap<>();
+    private int count = 1;
+
+    int utf8(String value) {
+      return entry("1:" + value, () -> {
+        var content = new ByteVector();
+        for (int i = 0; i < value.length(); i++) {
+          char c = value.charAt(i);
+          // modified utf-8
+          if (c != 0 && c < 0x80) {
+            content.putByte(c);
+          } else if (c < 0x800) {
+            content.putByte(0xC0 | (c >> 6));
+            content.putByte(0x80 | (c & 0x3F));
+          } else {
+            content.putByte(0xE0 | (c >> 12));
+            content.putByte(0x80 | ((c >> 6) & 0x3F));
+            content.putByte(0x80 | (c & 0x3F));
+          }
+        }
+        bytes.putByte(1);
+        bytes.putShort(content.size());
+        bytes.putBytes(content);
+      });
+    }
+
+    int classRef(String name) {
+      int utf8 = utf8(name);
+      return entry("7:" + name, () -> {
+        bytes.putByte(7);
+        bytes.putShort(utf8);
+      });
+    }
+
+    int string(String value) {
+      int utf8 = utf8(value);
+      return entry("8:" + value, () -> {
+        bytes.putByte(8);
+        bytes.putShort(utf8);
+      });
+    }
+
+    int fieldRef(String owner, String name, String descriptor) {
+      return memberRef(9, owner, name, descriptor);
+    }
+
+    int methodRef(String owner, String name, String descriptor) {
+      return memberRef(10, owner, name, descriptor);
+    }
+
+    int interfaceMethodRef(String owner, String name, String descriptor) {
+      return memberRef(11, owner, name, descriptor);
+    }
+
+    int count() {
+      return count;
+    }
+
+    ByteVector bytes() {
+      return bytes;
+    }
+
+    private int memberRef(int tag, String owner, String name, String descriptor) {
+      int classRef = classRef(owner);
+      int nameUtf8 = utf8(name);
+      int descriptorUtf8 = utf8(descriptor);
+      int nameAndType = entry("12:" + name + ":" + descriptor, () -> {
+        bytes.putByte(12);
+        bytes.putShort(nameUtf8);
+        bytes.putShort(descriptorUtf8);
+      });
+      return entry(tag + ":" + owner + "." + name + ":" + descriptor, () -> {
+        bytes.putByte(tag);
+        bytes.putShort(classRef);
+        bytes.putShort(nameAndType);
+      });
+    }
+
+    private int entry(String key, Runnable writer) {
+      var index = entries.get(key);
+      if (index == null) {
+        writer.run();
+        index = count++;
+        entries.put(key, index);
+      }
+      return index;
+    }
+  }
+
+  private static final class ByteVector {
+
+    private byte[] data = new byte[256];
+    private int size;
+
+    void putByte(int value) {
+      ensureCapacity(1);
+      data[size++] = (byte) value;
+    }
+
+    void putShort(int value) {
+      putByte(value >>> 8);
+      putByte(value);
+    }
+
+    void putInt(int value) {
+      putShort(value >>> 16);
+      putShort(value & 0xFFFF);
+    }
+
+    void putBytes(ByteVector other) {
+      ensureCapacity(other.size);
+      System.arraycopy(other.data, 0, data, size, other.size);
+      size += other.size;
+    }
+
+    int size() {
+      return size;
+    }
+
+    byte[] toByteArray() {
+      return Arrays.copyOf(data, size);
+    }
+
+    private void ensureCapacity(int length) {
+      if (size + length > data.length) {
+        data = Arrays.copyOf(data, Math.max(data.length * 2, size + length));
+      }
+    }
+  }
+}
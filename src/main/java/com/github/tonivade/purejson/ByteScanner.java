@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2020-2026, Antonio Gabriel Muñoz Conejo <me at tonivade dot es>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.purejson;
+
+/**
+ * Finds the special bytes inside of a string, used by {@link Utf8Input} to read or skip the content
+ * of strings in bulk.
+ *
+ * <p>If the {@code jdk.incubator.vector} module is enabled (using
+ * {@code --add-modules jdk.incubator.vector}) an implementation that checks many bytes at a time
+ * using SIMD instructions is used, otherwise a scalar implementation is used. The vector
+ * implementation can be disabled with the system property {@code purejson.vector=false}.
+ */
+interface ByteScanner {
+
+  ByteScanner INSTANCE = ByteScannerModule.load();
+
+  /**
+   * @param buffer
+   * @param start
+   * @param end
+   * @return the index of the first quote, backslash or control character, or {@code end} if there
+   *         are none.
+   */
+  int scanString(byte[] buffer, int start, int end);
+
+  static int scalarScanString(byte[] buffer, int start, int end) {
+    for (int i = start; i < end; i++) {
+      byte b = buffer[i];
+      if (b == '"' || b == '\\' || (b >= 0 && b < 0x20)) {
+        return i;
+      }
+    }
+    return end;
+  }
+}
+
+interface ByteScannerModule {
+
+  String VECTOR_MODULE = "jdk.incubator.vector";
+  String VECTOR_SCANNER = "com.github.tonivade.purejson.VectorByteScanner";
+
+  static ByteScanner load() {
+    if (Boolean.parseBoolean(System.getProperty("purejson.vector", "true"))
+        && ModuleLayer.boot().findModule(VECTOR_MODULE).isPresent()) {
+      try {
+        return (ByteScanner) Class.forName(VECTOR_SCANNER).getDeclaredConstructor().newInstance();
+      } catch (ReflectiveOperationException | LinkageError e) {
+        // not available, fallback to scalar implementation
+      }
+    }
+    return ByteScanner::scalarScanString;
+  }
+}
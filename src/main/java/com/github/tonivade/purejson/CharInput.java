@@ -0,0 +1,196 @@
+/*
+ * Copyright (c) 2020-2026, Antonio Gabriel Muñoz Conejo <me at tonivade dot es>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.purejson;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * {@link JsonInput} backed by a {@link Reader}. Only a fixed size buffer is kept in memory.
+ */
+final class CharInput extends JsonInput {
+
+  private static final int DEFAULT_BUFFER_SIZE = 8192;
+
+  private final Reader reader;
+  private final char[] buffer;
+
+  private int position;
+  private int limit;
+  private long offset;
+  private boolean eof;
+
+  CharInput(Reader reader) {
+    this(reader, DEFAULT_BUFFER_SIZE);
+  }
+
+  CharInput(Reader reader, int bufferSize) {
+    this(reader, new char[bufferSize], new StringBuilder());
+  }
+
+  CharInput(Reader reader, char[] buffer, StringBuilder scratch) {
+    super(scratch);
+    this.reader = reader;
+    this.buffer = buffer;
+  }
+
+  @Override
+  int peek() {
+    if (position == limit && !fill()) {
+      return -1;
+    }
+    return buffer[position];
+  }
+
+  @Override
+  int read() {
+    if (position == limit && !fill()) {
+      return -1;
+    }
+    return buffer[position++];
+  }
+
+  @Override
+  int peekNonWhitespace() {
+    while (position < limit || fill()) {
+      char c = buffer[position];
+      if (!isWhitespace(c)) {
+        return c;
+      }
+      if (c == '\n' && singleLine) {
+        throw syntaxError("unexpected end of line");
+      }
+      position++;
+    }
+    return -1;
+  }
+
+  @Override
+  String readString() {
+    StringBuilder builder = null;
+    int start = position;
+    while (true) {
+      if (position == limit) {
+        builder = append(builder, start, position);
+        if (!fill()) {
+          throw syntaxError("unterminated string");
+        }
+        start = position;
+      }
+      char c = buffer[position++];
+      if (c == '"') {
+        if (builder == null) {
+          return new String(buffer, start, position - start - 1);
+        }
+        return append(builder, start, position - 1).toString();
+      }
+      if (c == '\\') {
+        builder = append(builder, start, position - 1);
+        builder.append(readEscape());
+        start = position;
+      } else if (c < 0x20) {
+        position--;
+        throw syntaxError("unescaped control character in string");
+      }
+    }
+  }
+
+  @Override
+  String readName() {
+    // fast path, the whole name is in the buffer and has no escape sequences
+    for (int i = position; i < limit; i++) {
+      char c = buffer[i];
+      if (c == '"') {
+        var name = KeyCache.get(buffer, position, i);
+        position = i + 1;
+        return name;
+      }
+      if (c == '\\' || c < 0x20) {
+        break;
+      }
+    }
+    return super.readName();
+  }
+
+  @Override
+  int selectName(JsonReader.Options options) {
+    for (int i = position; i < limit; i++) {
+      char c = buffer[i];
+      if (c == '"') {
+        int index = options.find(buffer, position, i);
+        position = i + 1;
+        return index;
+      }
+      if (c == '\\' || c < 0x20) {
+        break;
+      }
+    }
+    return super.selectName(options);
+  }
+
+  @Override
+  void skipString() {
+    while (true) {
+      if (position == limit && !fill()) {
+        throw syntaxError("unterminated string");
+      }
+      char c = buffer[position++];
+      if (c == '"') {
+        return;
+      }
+      if (c == '\\') {
+        readEscape();
+      } else if (c < 0x20) {
+        position--;
+        throw syntaxError("unescaped control character in string");
+      }
+    }
+  }
+
+  @Override
+  long position() {
+    return offset + position;
+  }
+
+  @Override
+  public void close() {
+    try {
+      reader.close();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private StringBuilder append(@Nullable StringBuilder builder, int start, int end) {
+    var result = builder != null ? builder : scratch();
+    return result.append(buffer, start, end - start);
+  }
+
+  private boolean fill() {
+    if (eof) {
+      return false;
+    }
+    offset += limit;
+    position = 0;
+    limit = 0;
+    try {
+      int read;
+      do {
+        read = reader.read(buffer, 0, buffer.length);
+      } while (read == 0);
+      if (read < 0) {
+        eof = true;
+        return false;
+      }
+      limit = read;
+      return true;
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2020-2026, Antonio Gabriel Muñoz Conejo <me at tonivade dot es>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.purejson;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+
+/**
+ * {@link JsonOutput} that writes into a {@link Writer} using a fixed size buffer.
+ */
+final class CharOutput extends JsonOutput {
+
+  private static final int DEFAULT_BUFFER_SIZE = 8192;
+
+  private final Writer writer;
+  private final char[] buffer;
+
+  private int position;
+
+  CharOutput(Writer writer) {
+    this(writer, DEFAULT_BUFFER_SIZE);
+  }
+
+  CharOutput(Writer writer, int bufferSize) {
+    this.writer = writer;
+    this.buffer = new char[bufferSize];
+  }
+
+  @Override
+  void write(char c) {
+    if (position == buffer.length) {
+      drain();
+    }
+    buffer[position++] = c;
+  }
+
+  @Override
+  void write(String value, int start, int end) {
+    while (start < end) {
+      if (position == buffer.length) {
+        drain();
+      }
+      int length = Math.min(end - start, buffer.length - position);
+      value.getChars(start, start + length, buffer, position);
+      position += length;
+      start += length;
+    }
+  }
+
+  @Override
+  public void flush() {
+    drain();
+    try {
+      writer.flush();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  @Override
+  public void close() {
+    drain();
+    try {
+      writer.close();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private void drain() {
+    try {
+      writer.write(buffer, 0, position);
+      position = 0;
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
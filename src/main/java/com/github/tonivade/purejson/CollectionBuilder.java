@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2020-2026, Antonio Gabriel Muñoz Conejo <me at tonivade dot es>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.purejson;
+
+import static java.util.Collections.unmodifiableList;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.Queue;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.IntFunction;
+
+import com.github.tonivade.purefun.core.Function1;
+import com.github.tonivade.purefun.data.ImmutableArray;
+import com.github.tonivade.purefun.data.ImmutableList;
+import com.github.tonivade.purefun.data.ImmutableSet;
+import com.github.tonivade.purefun.data.ImmutableTree;
+import com.github.tonivade.purefun.data.Sequence;
+
+/**
+ * Builds the collection with the decoded items of an array. The number of items is known before
+ * the collection is created, from the size of the {@link JsonNode.JsonArray} or, when the items are
+ * read from a {@link JsonReader}, because they are stacked in the reader until the end of the
+ * array, so the collection is created only once with the right size and it's filled in one pass.
+ *
+ * @param <E> type of the items
+ * @param <R> type of the result
+ */
+final class CollectionBuilder<E, R> {
+
+  private final IntFunction<? extends Collection<E>> factory;
+  private final Function1<Collection<E>, R> finisher;
+
+  private CollectionBuilder(IntFunction<? extends Collection<E>> factory, Function1<Collection<E>, R> finisher) {
+    this.factory = factory;
+    this.finisher = finisher;
+  }
+
+  /**
+   * @param <E>
+   * @return a builder of unmodifiable lists, used for {@link Iterable}s
+   */
+  @SuppressWarnings("unchecked")
+  static <E> CollectionBuilder<E, Iterable<E>> iterable() {
+    return new CollectionBuilder<>(ArrayList::new, list -> unmodifiableList((List<E>) list));
+  }
+
+  /**
+   * @param <E>
+   * @param type a subtype of {@link Collection}
+   * @return a builder of the collection that is the most suitable implementation of the given type
+   */
+  @SuppressWarnings("unchecked")
+  static <E> CollectionBuilder<E, Collection<E>> collection(Class<?> type) {
+    if (Deque.class.isAssignableFrom(type) || Queue.class.isAssignableFrom(type)) {
+      return new CollectionBuilder<>(ArrayDeque::new, Function1.identity());
+    }
+    if (NavigableSet.class.isAssignableFrom(type)) {
+      return new CollectionBuilder<>(size -> new TreeSet<>(), Function1.identity());
+    }
+    if (Set.class.isAssignableFrom(type)) {
+      return new CollectionBuilder<>(HashSet::newHashSet, Function1.identity());
+    }
+    return new CollectionBuilder<>(ArrayList::new, Function1.identity());
+  }
+
+  /**
+   * @param <E>
+   * @param type a subtype of {@link Sequence}
+   * @return a builder of the sequence of the given type
+   */
+  static <E> CollectionBuilder<E, Sequence<E>> sequence(Class<?> type) {
+    if (ImmutableArray.class.isAssignableFrom(type)) {
+      return new CollectionBuilder<>(ArrayList::new, ImmutableArray::from);
+    }
+    if (ImmutableSet.class.isAssignableFrom(type)) {
+      return new CollectionBuilder<>(ArrayList::new, ImmutableSet::from);
+    }
+    if (ImmutableTree.class.isAssignableFrom(type)) {
+      return new CollectionBuilder<>(ArrayList::new, ImmutableTree::from);
+    }
+    return new CollectionBuilder<>(ArrayList::new, ImmutableList::from);
+  }
+
+  R build(JsonNode.JsonArray array, JsonDecoder<E> decoder) {
+    var collection = factory.apply(array.size());
+    for (var item : array) {
+      collection.add(decoder.decode(item));
+    }
+    return finisher.apply(collection);
+  }
+
+  @SuppressWarnings("unchecked")
+  R build(JsonReader reader, JsonDecoder<E> decoder) {
+    int mark = reader.itemsMark();
+    reader.beginArray();
+    while (reader.hasNext()) {
+      reader.addItem(decoder.decode(reader));
+    }
+    reader.endArray();
+    var collection = factory.apply(reader.itemsMark() - mark);
+    reader.removeItems(mark, item -> collection.add((E) item));
+    return finisher.apply(collection);
+  }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2020-2026, Antonio Gabriel Muñoz Conejo <me at tonivade dot es>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.purejson;
+
+import java.util.Arrays;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Adapter of the constants of an enum, encoded as their names. Everything is resolved when the
+ * adapter is created: the names are searched in a precomputed table, directly in the buffer of the
+ * reader when possible, so no string is created to decode a constant, and each constant has its
+ * own node and its own quoted name, so no node is created and nothing is escaped to encode it.
+ *
+ * <p>Unknown values are decoded as the fallback value, or rejected with an
+ * {@link IllegalArgumentException} if there is no fallback.
+ *
+ * @param <T> type of the enum
+ */
+final class EnumAdapter<T extends Enum<T>> implements JsonAdapter<T> {
+
+  private final Class<T> type;
+  private final T[] constants;
+  private final JsonReader.Options names;
+  private final JsonNode[] nodes;
+  private final String[] quoted;
+  private final boolean failOnUnknown;
+  @Nullable
+  private final T fallback;
+
+  private EnumAdapter(Class<T> type, boolean failOnUnknown, @Nullable T fallback) {
+    this.type = type;
+    this.constants = type.getEnumConstants();
+    this.names = JsonReader.Options.of(Arrays.stream(constants).map(Enum::name).toList());
+    this.nodes = Arrays.stream(constants).map(Enum::name).map(JsonDSL::string).toArray(JsonNode[]::new);
+    this.quoted = Arrays.stream(nodes).map(JsonWriter::toString).toArray(String[]::new);
+    this.failOnUnknown = failOnUnknown;
+    this.fallback = fallback;
+  }
+
+  /**
+   * @param <T>
+   * @param type
+   * @return an adapter where unknown values are decoded as the constant annotated with
+   *         {@link JsonEnumDefaultValue}, or rejected if there's no such constant
+   */
+  static <T extends Enum<T>> EnumAdapter<T> of(Class<T> type) {
+    var fallback = Arrays.stream(type.getEnumConstants())
+        .filter(constant -> isDefaultValue(type, constant))
+        .findFirst();
+    return new EnumAdapter<>(type, fallback.isEmpty(), fallback.orElse(null));
+  }
+
+  /**
+   * @param <T>
+   * @param type
+   * @param fallback
+   * @return an adapter where unknown values are decoded as the given fallback, that can be
+   *         {@code null}
+   */
+  static <T extends Enum<T>> EnumAdapter<T> of(Class<T> type, @Nullable T fallback) {
+    return new EnumAdapter<>(type, false, fallback);
+  }
+
+  @Override
+  public JsonNode encode(T value) {
+    return nodes[value.ordinal()];
+  }
+
+  @Override
+  public void encode(T value, JsonWriter writer) {
+    writer.rawValue(quoted[value.ordinal()]);
+  }
+
+  @Override
+  @Nullable
+  public T decode(JsonNode json) {
+    var name = json.asString();
+    int index = names.find(name);
+    return index >= 0 ? constants[index] : unknown(name);
+  }
+
+  @Override
+  @Nullable
+  public T decode(JsonReader reader) {
+    if (reader.peek() != JsonReader.Token.STRING) {
+      throw new IllegalArgumentException("expected string but was " + reader.peek());
+    }
+    int index = reader.selectString(names);
+    return index >= 0 ? constants[index] : unknown(null);
+  }
+
+  /**
+   * @param name the unknown name, if it was created
+   * @return the fallback
+   */
+  @Nullable
+  private T unknown(@Nullable String name) {
+    if (failOnUnknown) {
+      throw new IllegalArgumentException("unknown constant of enum " + type.getName()
+          + (name != null ? ": " + name : ""));
+    }
+    return fallback;
+  }
+
+  private static <T extends Enum<T>> boolean isDefaultValue(Class<T> type, T constant) {
+    try {
+      return type.getDeclaredField(constant.name()).isAnnotationPresent(JsonEnumDefaultValue.class);
+    } catch (NoSuchFieldException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
@@ -31,6 +31,12 @@ public interface JsonAdapter<T> extends JsonEncoder<T>, JsonDecoder<T> {
   JsonAdapter<Double> DOUBLE = adapter(Double.class);
   JsonAdapter<Boolean> BOOLEAN = adapter(Boolean.class);
 
+  /**
+   * Arrays of bytes are encoded by default as arrays of numbers, this adapter encodes them as a
+   * Base64 string instead. Both forms are accepted when decoding.
+   */
+  JsonAdapter<byte[]> BASE64 = nullSafe(PrimitiveArrays.BYTES_BASE64);
+
   /**
    * It creates an adapter builder. You can define each field step by step with its proper
    * accessor and create an adapter.
@@ -64,16 +70,22 @@ public interface JsonAdapter<T> extends JsonEncoder<T>, JsonDecoder<T> {
 
   /**
    * <p>First, it tries to load the instance of an adapter generated using annotation processor,
-   * or else it will try to generate an adapter using reflection.
+   * or else, if the type is a record, it generates an equivalent adapter at runtime, or else it
+   * will try to generate an adapter using reflection.
    *
    * <p>if the type is not supported it will throw an {@code UnsupportedOperationException}.
    *
+   * <p>Adapters are resolved only once per type and cached, so it's cheap to call this method
+   * several times for the same type.
+   *
    * @param <T>
    * @param type
    * @return
    */
+  @SuppressWarnings("unchecked")
   static <T> JsonAdapter<T> adapter(Type type) {
-    return JsonAdapter.<T>load(type).getOrElse(() -> of(encoder(type), decoder(type)));
+    return (JsonAdapter<T>) JsonAdapterModule.CACHE.get(type,
+        t -> JsonAdapter.<T>load(t).or(() -> JsonAdapter.<T>generate(t)).getOrElse(() -> of(encoder(t), decoder(t))));
   }
 
   /**
@@ -100,6 +112,22 @@ public interface JsonAdapter<T> extends JsonEncoder<T>, JsonDecoder<T> {
     return Option.none();
   }
 
+  /**
+   * Generates at runtime an adapter equivalent to the one generated by the annotation processor,
+   * only if the type is a record.
+   *
+   * @param <T>
+   * @param type
+   * @return
+   */
+  @SuppressWarnings("unchecked")
+  static <T> Option<JsonAdapter<T>> generate(Type type) {
+    if (type instanceof Class<?> clazz) {
+      return AdapterGenerator.generate((Class<T>) clazz).map(JsonAdapter::nullSafe);
+    }
+    return Option.none();
+  }
+
   /**
    * It creates an adapter with the given encoder and decoder.
    *
@@ -116,11 +144,22 @@ public interface JsonAdapter<T> extends JsonEncoder<T>, JsonDecoder<T> {
         return encoder.encode(value);
       }
 
+      @Override
+      public void encode(T value, JsonWriter writer) {
+        encoder.encode(value, writer);
+      }
+
       @Override
       @Nullable
       public T decode(JsonNode json) {
         return decoder.decode(json);
       }
+
+      @Override
+      @Nullable
+      public T decode(JsonReader reader) {
+        return decoder.decode(reader);
+      }
     };
   }
 
@@ -158,4 +197,9 @@ public interface JsonAdapter<T> extends JsonEncoder<T>, JsonDecoder<T> {
   static <T> JsonAdapter<T> nullSafe(JsonAdapter<T> adapter) {
     return of(JsonEncoder.nullSafe(adapter), JsonDecoder.nullSafe(adapter));
   }
-}
\ No newline at end of file
+}
+
+interface JsonAdapterModule {
+
+  TypeCache<JsonAdapter<?>> CACHE = new TypeCache<>();
+}
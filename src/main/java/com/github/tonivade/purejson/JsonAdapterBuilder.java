@@ -10,9 +10,8 @@ import static com.github.tonivade.purefun.data.Sequence.listOf;
 import static com.github.tonivade.purejson.JsonAdapter.iterableAdapter;
 
 import java.lang.reflect.Constructor;
-import java.lang.reflect.InvocationTargetException;
-import java.util.ArrayList;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 import com.github.tonivade.purefun.core.Function1;
@@ -60,38 +59,55 @@ public final class JsonAdapterBuilder<T> {
     return add(name, accessor, iterableAdapter(other));
   }
 
-  @SuppressWarnings("unchecked")
   public JsonAdapter<T> build() {
     Constructor<?> constructor1 = listOf(type.getDeclaredConstructors())
         .filter(constructor -> constructor.getParameterCount() == decoders.size()).head()
         .getOrElseThrow();
+    var factory = Accessors.factory(constructor1);
+    var fields = new JsonFields(List.copyOf(decoders.keySet()), List.copyOf(decoders.values()));
     return JsonAdapter.of(
 
-        value -> {
-          var object = new JsonNode.JsonObject();
-          for (var entry : encoders.entrySet()) {
-            object.add(entry.getKey(), entry.getValue().encode(value));
+        new JsonEncoder<>() {
+
+          @Override
+          public JsonNode encode(T value) {
+            var object = new JsonNode.JsonObject();
+            for (var entry : encoders.entrySet()) {
+              object.add(entry.getKey(), entry.getValue().encode(value));
+            }
+            return object;
+          }
+
+          @Override
+          public void encode(T value, JsonWriter writer) {
+            writer.beginObject();
+            for (var entry : encoders.entrySet()) {
+              writer.name(entry.getKey());
+              entry.getValue().encode(value, writer);
+            }
+            writer.endObject();
           }
-          return object;
         },
 
-        json -> {
-          if (json instanceof JsonNode.JsonObject o) {
-            var params = new ArrayList<>();
-            for (var entry : decoders.entrySet()) {
-              JsonNode element = o.get(entry.getKey());
+        new JsonDecoder<>() {
 
-              params.add(entry.getValue().decode(element));
+          @Override
+          public T decode(JsonNode json) {
+            if (json instanceof JsonNode.JsonObject o) {
+              return type.cast(factory.create(fields.decode(o)));
             }
 
-            try {
-              return (T) constructor1.newInstance(params.toArray(Object[]::new));
-            } catch (InstantiationException | InvocationTargetException | IllegalAccessException e) {
-              throw new IllegalStateException(e);
-            }
+            throw new IllegalArgumentException();
           }
 
-          throw new IllegalArgumentException();
+          @Override
+          public T decode(JsonReader reader) {
+            if (reader.peek() == JsonReader.Token.BEGIN_OBJECT) {
+              return type.cast(factory.create(fields.decode(reader)));
+            }
+
+            throw new IllegalArgumentException();
+          }
         });
   }
 
@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2020-2026, Antonio Gabriel Muñoz Conejo <me at tonivade dot es>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.purejson;
+
+import static com.github.tonivade.purefun.core.Precondition.checkNonNull;
+
+import java.lang.reflect.Type;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import org.jspecify.annotations.Nullable;
+
+import com.github.tonivade.purefun.type.Try;
+
+/**
+ * Registry of the types that an application is going to encode or decode, so their adapters can be
+ * resolved at startup instead of in the first request that uses them.
+ *
+ * <p>Resolving an adapter loads the adapters generated by the annotation processor, generates the
+ * adapters of records, or else creates the reflective ones, and it does the same for all the types
+ * referenced by the type, like the types of the fields or the items of a collection. So it's enough
+ * to register the root types of the documents.
+ *
+ * <p>Adapters are resolved into the same caches used by {@link JsonAdapter#adapter(Type)},
+ * {@link JsonEncoder#encoder(Type)}, {@link JsonDecoder#decoder(Type)} and {@link PureJson}, so once
+ * the warm up is completed they are served from there without any other cost. Instances are
+ * immutable.
+ *
+ * <pre>{@code
+ * JsonAdapterRegistry.of(User.class, Order.class, new TypeToken<List<Item>>() {}.getType())
+ *     .warmUpAsync()
+ *     .thenAccept(elapsed -> log.info("json adapters resolved in {}", elapsed));
+ * }</pre>
+ */
+public final class JsonAdapterRegistry {
+
+  private final List<Type> types;
+
+  private JsonAdapterRegistry(List<? extends Type> types) {
+    this.types = List.copyOf(types);
+  }
+
+  public static JsonAdapterRegistry of(Type... types) {
+    return of(Arrays.asList(checkNonNull(types)));
+  }
+
+  public static JsonAdapterRegistry of(List<? extends Type> types) {
+    return new JsonAdapterRegistry(checkNonNull(types));
+  }
+
+  /**
+   * @param types
+   * @return a new registry with the types of this registry and the given types
+   */
+  public JsonAdapterRegistry register(Type... types) {
+    var all = new ArrayList<Type>(this.types);
+    all.addAll(Arrays.asList(checkNonNull(types)));
+    return new JsonAdapterRegistry(all);
+  }
+
+  public List<Type> types() {
+    return types;
+  }
+
+  /**
+   * Resolves the adapters of all the registered types in the current thread. All the types are
+   * resolved even if some of them fail.
+   *
+   * @return how long the resolution took, or the error of the first type that cannot be resolved,
+   *         the errors of the rest of types are added as suppressed
+   */
+  public Try<Duration> warmUp() {
+    long start = System.nanoTime();
+    @Nullable Throwable error = null;
+    for (var type : types) {
+      var result = Try.of(() -> resolve(type));
+      if (result.isFailure()) {
+        var cause = new IllegalStateException("cannot resolve adapter of type " + type.getTypeName(), result.getCause());
+        if (error == null) {
+          error = cause;
+        } else {
+          error.addSuppressed(cause);
+        }
+      }
+    }
+    if (error != null) {
+      return Try.failure(error);
+    }
+    return Try.success(Duration.ofNanos(System.nanoTime() - start));
+  }
+
+  /**
+   * Same as {@link #warmUp()} but in a new daemon thread, so the application can continue starting.
+   *
+   * @return a future completed when all the types are resolved
+   */
+  public CompletableFuture<Duration> warmUpAsync() {
+    return warmUpAsync(command -> Thread.ofPlatform().name("purejson-warm-up").daemon().start(command));
+  }
+
+  /**
+   * Same as {@link #warmUp()} but using the given executor.
+   *
+   * @param executor
+   * @return a future completed when all the types are resolved
+   */
+  public CompletableFuture<Duration> warmUpAsync(Executor executor) {
+    checkNonNull(executor);
+    return CompletableFuture.supplyAsync(() -> warmUp().getOrElseThrow(), executor);
+  }
+
+  @Override
+  public String toString() {
+    return "JsonAdapterRegistry" + types;
+  }
+
+  private static JsonAdapter<?> resolve(Type type) {
+    JsonEncoder.encoder(type);
+    JsonDecoder.decoder(type);
+    return JsonAdapter.adapter(type);
+  }
+}
@@ -33,6 +33,8 @@ import javax.lang.model.type.TypeMirror;
 import javax.tools.Diagnostic.Kind;
 import javax.tools.JavaFileObject;
 
+import org.jspecify.annotations.Nullable;
+
 import com.github.tonivade.purefun.core.Tuple;
 import com.github.tonivade.purefun.core.Tuple2;
 import com.github.tonivade.purefun.data.ImmutableList;
@@ -52,6 +54,7 @@ import com.palantir.javapoet.TypeSpec;
 public class JsonAnnotationProcessor extends AbstractProcessor {
 
   private static final String VALUE = "value";
+  private static final String NAMES = "NAMES";
 
   @Override
   public SourceVersion getSupportedSourceVersion() {
@@ -128,6 +131,13 @@ public class JsonAnnotationProcessor extends AbstractProcessor {
               .returns(JsonNode.class)
               .addCode(encodeMethod())
               .build())
+          .addMethod(MethodSpec.methodBuilder("encode")
+              .addAnnotation(Override.class)
+              .addModifiers(Modifier.PUBLIC)
+              .addParameter(TypeName.get(type), VALUE)
+              .addParameter(JsonWriter.class, "writer")
+              .addCode(encodeWriterMethod())
+              .build())
           .addMethod(MethodSpec.methodBuilder("decode")
               .addAnnotation(Override.class)
               .addModifiers(Modifier.PUBLIC)
@@ -135,6 +145,13 @@ public class JsonAnnotationProcessor extends AbstractProcessor {
               .returns(TypeName.get(type))
               .addCode(decodeMethod())
               .build())
+          .addMethod(MethodSpec.methodBuilder("decode")
+              .addAnnotation(Override.class)
+              .addModifiers(Modifier.PUBLIC)
+              .addParameter(JsonReader.class, readerName())
+              .returns(TypeName.get(type))
+              .addCode(decodeReaderMethod())
+              .build())
           .build();
       return JavaFile.builder(packageName, typeSpec).build();
     }
@@ -149,6 +166,11 @@ public class JsonAnnotationProcessor extends AbstractProcessor {
                 .initializer(CodeBlock.builder().add("$T.adapter($L)", JsonAdapter.class, field.getFieldType()).build())
                 .build());
       }
+      String names = fields.map(f -> CodeBlock.of("$S", f.name).toString()).join(", ");
+      list.add(
+          FieldSpec.builder(JsonReader.Options.class, NAMES, Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+              .initializer("$T.of($L)", JsonReader.Options.class, names)
+              .build());
       return list;
     }
 
@@ -162,6 +184,17 @@ public class JsonAnnotationProcessor extends AbstractProcessor {
       return builder.addStatement("return $T.object($L)", JsonDSL.class, params).build();
     }
 
+    private CodeBlock encodeWriterMethod() {
+      var builder = CodeBlock.builder();
+      builder.addStatement("$N.beginObject()", "writer");
+      for (var field : fields) {
+        builder.addStatement("$N.name($S)", "writer", field.name);
+        builder.addStatement("$L.encode($N.$N(), $N)",
+            field.getAdapterName(), VALUE, field.accessor.getSimpleName(), "writer");
+      }
+      return builder.addStatement("$N.endObject()", "writer").build();
+    }
+
     private CodeBlock decodeMethod() {
       var builder = CodeBlock.builder();
       builder.addStatement("var $N = $N.asObject()", "object", "node");
@@ -172,6 +205,57 @@ public class JsonAnnotationProcessor extends AbstractProcessor {
       String params = fields.map(f -> f.name).join(", ");
       return builder.addStatement("return new $N($L)", name, params).build();
     }
+
+    private CodeBlock decodeReaderMethod() {
+      var builder = CodeBlock.builder();
+      var reader = readerName();
+      for (var field : fields) {
+        builder.addStatement("$T $N = null", TypeName.get(field.type).box(), field.name);
+      }
+      builder.addStatement("$N.beginObject()", reader);
+      builder.beginControlFlow("while ($N.hasNext())", reader);
+      builder.beginControlFlow("switch ($N.selectName($N))", reader, NAMES);
+      int index = 0;
+      for (var field : fields) {
+        builder.addStatement("case $L -> $N = $L.decode($N)",
+            index++, field.name, field.getAdapterName(), reader);
+      }
+      builder.addStatement("default -> $N.skipValue()", reader);
+      builder.endControlFlow();
+      builder.endControlFlow();
+      builder.addStatement("$N.endObject()", reader);
+      for (var field : fields) {
+        var defaultValue = field.getDefaultValue();
+        if (defaultValue != null) {
+          builder.beginControlFlow("if ($N == null)", field.name);
+          builder.addStatement("$N = $L", field.name, defaultValue);
+          builder.endControlFlow();
+        }
+      }
+      String params = fields.map(f -> f.name).join(", ");
+      return builder.addStatement("return new $N($L)", name, params).build();
+    }
+
+    /**
+     * The fields are decoded into local variables with the same name, so the parameter of the
+     * method cannot be named as any of the fields.
+     */
+    private String readerName() {
+      var reader = "reader";
+      while (isField(reader)) {
+        reader = reader + "_";
+      }
+      return reader;
+    }
+
+    private boolean isField(String name) {
+      for (var field : fields) {
+        if (field.name.equals(name)) {
+          return true;
+        }
+      }
+      return false;
+    }
   }
 
   static final class Field {
@@ -190,6 +274,25 @@ public class JsonAnnotationProcessor extends AbstractProcessor {
       return name.toUpperCase() + "_ADAPTER";
     }
 
+    /**
+     * @return the value of a primitive field missing in the json, or null if the field is not a
+     *         primitive
+     */
+    @Nullable
+    CodeBlock getDefaultValue() {
+      return switch (type.getKind()) {
+        case CHAR -> CodeBlock.of("'\\0'");
+        case BYTE -> CodeBlock.of("(byte) 0");
+        case SHORT -> CodeBlock.of("(short) 0");
+        case INT -> CodeBlock.of("0");
+        case LONG -> CodeBlock.of("0L");
+        case FLOAT -> CodeBlock.of("0F");
+        case DOUBLE -> CodeBlock.of("0D");
+        case BOOLEAN -> CodeBlock.of("false");
+        default -> null;
+      };
+    }
+
     CodeBlock getFieldType() {
       var typeName = TypeName.get(type);
       if (typeName.isPrimitive()) {
@@ -0,0 +1,196 @@
+/*
+ * Copyright (c) 2020-2026, Antonio Gabriel Muñoz Conejo <me at tonivade dot es>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.purejson;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+
+import org.jspecify.annotations.Nullable;
+
+import com.github.tonivade.purefun.type.Option;
+import com.github.tonivade.purefun.type.Try;
+
+/**
+ * Reusable parser. It keeps the buffers used to read the input, and to build the content of strings
+ * and numbers, between parses, so parsing many documents doesn't allocate them again and again.
+ *
+ * <p>A context can only parse one document at a time, so it should not be shared between threads
+ * without synchronization. The buffers are bounded, after each parse any buffer that has grown
+ * over 64KB to hold a big value is discarded, so a single huge document doesn't retain memory
+ * forever.
+ *
+ * <p>The static methods of {@link PureJson} already use an internal bounded pool of contexts, that
+ * pool doesn't use thread locals nor locks, so it's safe to use from virtual threads.
+ */
+public final class JsonContext {
+
+  private static final int BUFFER_SIZE = 8192;
+  private static final int MAX_RETAINED_SIZE = 64 * 1024;
+
+  private static final int POOL_SIZE = Runtime.getRuntime().availableProcessors() * 2;
+  private static final AtomicReferenceArray<@Nullable JsonContext> POOL = new AtomicReferenceArray<>(POOL_SIZE);
+
+  private final char[] chars = new char[BUFFER_SIZE];
+  private final byte[] bytes = new byte[BUFFER_SIZE];
+  private StringBuilder scratch = new StringBuilder();
+
+  public Try<JsonNode> parse(String json) {
+    return Option.of(json).fold(Try::<String>illegalArgumentException, Try::success)
+        .flatMap(string -> parse(input(string)));
+  }
+
+  /**
+   * The reader is not closed.
+   *
+   * @param json
+   * @return
+   */
+  public Try<JsonNode> parse(Reader json) {
+    return Option.of(json).fold(Try::<Reader>illegalArgumentException, Try::success)
+        .flatMap(reader -> parse(input(reader)));
+  }
+
+  public Try<JsonNode> parse(byte[] json) {
+    return Option.of(json).fold(Try::<byte[]>illegalArgumentException, Try::success)
+        .flatMap(array -> parse(input(array)));
+  }
+
+  /**
+   * The stream is not closed.
+   *
+   * @param json
+   * @return
+   */
+  public Try<JsonNode> parse(InputStream json) {
+    return Option.of(json).fold(Try::<InputStream>illegalArgumentException, Try::success)
+        .flatMap(stream -> parse(input(stream)));
+  }
+
+  /**
+   * Creates a reader that uses the buffers of this context. The reader can be used until the
+   * context is used again, then {@link #reset()} should be called.
+   *
+   * @param json
+   * @return
+   */
+  public JsonReader reader(String json) {
+    return new JsonReader(input(json));
+  }
+
+  /**
+   * Same as {@link #reader(String)}.
+   *
+   * @param json
+   * @return
+   */
+  public JsonReader reader(Reader json) {
+    return new JsonReader(input(json));
+  }
+
+  /**
+   * Same as {@link #reader(String)}.
+   *
+   * @param json
+   * @return
+   */
+  public JsonReader reader(byte[] json) {
+    return new JsonReader(input(json));
+  }
+
+  /**
+   * Same as {@link #reader(String)}.
+   *
+   * @param json
+   * @return
+   */
+  public JsonReader reader(InputStream json) {
+    return new JsonReader(input(json));
+  }
+
+  /**
+   * Discards any buffer that has grown too much. It's called after each parse, it's only needed
+   * after using a reader.
+   */
+  public void reset() {
+    if (scratch.capacity() > MAX_RETAINED_SIZE) {
+      scratch = new StringBuilder();
+    }
+  }
+
+  JsonInput input(String json) {
+    return new StringInput(json, scratch);
+  }
+
+  JsonInput input(Reader json) {
+    return new CharInput(json, chars, scratch);
+  }
+
+  JsonInput input(byte[] json) {
+    return new Utf8Input(json, 0, json.length, scratch);
+  }
+
+  JsonInput input(InputStream json) {
+    return new Utf8Input(json, bytes, scratch);
+  }
+
+  /**
+   * Runs the action with a context of the pool. The context must not be used after the action
+   * finishes, so the result cannot depend on the context.
+   *
+   * @param <R>
+   * @param action
+   * @return
+   */
+  static <R> R pooled(Function<JsonContext, R> action) {
+    var context = acquire();
+    try {
+      return action.apply(context);
+    } finally {
+      release(context);
+    }
+  }
+
+  private Try<JsonNode> parse(JsonInput input) {
+    try {
+      return Try.of(() -> {
+        var reader = new JsonReader(input);
+        var value = reader.nextNode();
+        reader.endDocument();
+        return value;
+      });
+    } finally {
+      reset();
+    }
+  }
+
+  private static JsonContext acquire() {
+    int start = index();
+    for (int i = 0; i < POOL_SIZE; i++) {
+      var context = POOL.getAndSet((start + i) % POOL_SIZE, null);
+      if (context != null) {
+        return context;
+      }
+    }
+    return new JsonContext();
+  }
+
+  private static void release(JsonContext context) {
+    context.reset();
+    int start = index();
+    for (int i = 0; i < POOL_SIZE; i++) {
+      if (POOL.compareAndSet((start + i) % POOL_SIZE, null, context)) {
+        return;
+      }
+    }
+    // the pool is full, the context is discarded
+  }
+
+  private static int index() {
+    // spread the threads over the pool to reduce contention
+    return (int) (Thread.currentThread().threadId() % POOL_SIZE);
+  }
+}
@@ -8,7 +8,8 @@ import java.util.List;
 import java.util.Map;
 
 import com.github.tonivade.purejson.JsonNode.JsonArray;
-import com.github.tonivade.purejson.JsonNode.JsonNumber;
+import com.github.tonivade.purejson.JsonNode.JsonDouble;
+import com.github.tonivade.purejson.JsonNode.JsonLong;
 import com.github.tonivade.purejson.JsonNode.JsonObject;
 import com.github.tonivade.purejson.JsonNode.JsonString;
 import com.github.tonivade.purejson.JsonNode.Tuple;
@@ -52,19 +53,26 @@ public final class JsonDSL {
   }
 
   public static JsonNode number(int value) {
-    return new JsonNumber(value);
+    return new JsonLong(value);
   }
 
   public static JsonNode number(long value) {
-    return new JsonNumber(value);
+    return new JsonLong(value);
   }
 
+  /**
+   * The value is stored as the double with the same decimal representation, so it's written the
+   * same as the float.
+   *
+   * @param value
+   * @return
+   */
   public static JsonNode number(float value) {
-    return new JsonNumber(value);
+    return new JsonDouble(Double.parseDouble(Float.toString(value)));
   }
 
   public static JsonNode number(double value) {
-    return new JsonNumber(value);
+    return new JsonDouble(value);
   }
 
   public static JsonNode bool(boolean value) {
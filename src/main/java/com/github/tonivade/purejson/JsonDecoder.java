@@ -6,7 +6,6 @@ package com.github.tonivade.purejson;
 
 import static com.github.tonivade.purefun.data.Sequence.listOf;
 import static java.lang.reflect.Modifier.isStatic;
-import static java.util.Collections.unmodifiableList;
 import static java.util.Collections.unmodifiableMap;
 import static java.util.stream.Collectors.toUnmodifiableMap;
 
@@ -14,33 +13,25 @@ import java.lang.reflect.Array;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.GenericArrayType;
-import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Parameter;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.RecordComponent;
 import java.lang.reflect.Type;
 import java.lang.reflect.WildcardType;
 import java.math.BigDecimal;
 import java.math.BigInteger;
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.Deque;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.NavigableSet;
-import java.util.Queue;
-import java.util.Set;
+import java.util.function.Function;
 
 import org.jspecify.annotations.Nullable;
 
 import com.github.tonivade.purefun.core.Function1;
 import com.github.tonivade.purefun.core.Tuple2;
-import com.github.tonivade.purefun.data.ImmutableArray;
-import com.github.tonivade.purefun.data.ImmutableList;
 import com.github.tonivade.purefun.data.ImmutableMap;
-import com.github.tonivade.purefun.data.ImmutableSet;
-import com.github.tonivade.purefun.data.ImmutableTree;
 import com.github.tonivade.purefun.data.ImmutableTreeMap;
 import com.github.tonivade.purefun.data.Sequence;
 import com.github.tonivade.purefun.type.Option;
@@ -53,16 +44,50 @@ public interface JsonDecoder<T> {
   @Nullable
   T decode(JsonNode json);
 
+  /**
+   * Decodes the next value of the reader. By default it reads the next value as a tree and then
+   * it's decoded using {@link #decode(JsonNode)}, but implementations can override this method to
+   * decode the value directly from the tokens.
+   *
+   * @param reader
+   * @return
+   */
+  @Nullable
+  default T decode(JsonReader reader) {
+    return decode(reader.nextNode());
+  }
+
   default Try<T> tryDecode(JsonNode json) {
     return Try.of(() -> decode(json));
   }
 
   default <R> JsonDecoder<R> andThen(Function1<? super T, ? extends R> next) {
-    return json -> next.apply(decode(json));
+    return new JsonDecoder<>() {
+
+      @Override
+      public R decode(JsonNode json) {
+        return next.apply(JsonDecoder.this.decode(json));
+      }
+
+      @Override
+      public R decode(JsonReader reader) {
+        return next.apply(JsonDecoder.this.decode(reader));
+      }
+    };
   }
 
+  /**
+   * It returns the decoder for the given type. Decoders are resolved only once per type and
+   * cached, nested decoders of fields and items are resolved through the same cache.
+   *
+   * @param <T>
+   * @param type
+   * @return
+   */
+  @SuppressWarnings("unchecked")
   static <T> JsonDecoder<T> decoder(Type type) {
-    return nullSafe(JsonDecoder.<T>load(type).getOrElse(() -> create(type)));
+    return (JsonDecoder<T>) JsonDecoderModule.CACHE.get(type,
+        t -> nullSafe(JsonDecoder.<T>load(t).getOrElse(() -> create(t))));
   }
 
   @SuppressWarnings("unchecked")
@@ -72,21 +97,61 @@ public interface JsonDecoder<T> {
 
   @SuppressWarnings("unchecked")
   static <T> JsonDecoder<T[]> arrayDecoder(Class<T> type) {
-    var itemDecoder = decoder(type);
-    return json -> {
-      if (json instanceof JsonNode.JsonArray a) {
-        var array = Array.newInstance(type, a.size());
-        for (int i = 0; i < a.size(); i++) {
-          Array.set(array, i, itemDecoder.decode(a.get(i)));
+    JsonDecoder<T> itemDecoder = decoder(type);
+    return new JsonDecoder<>() {
+
+      @Override
+      public T[] decode(JsonNode json) {
+        if (json instanceof JsonNode.JsonArray a) {
+          var array = (T[]) Array.newInstance(type, a.size());
+          for (int i = 0; i < array.length; i++) {
+            array[i] = itemDecoder.decode(a.get(i));
+          }
+          return array;
         }
-        return (T[]) array;
+        throw new IllegalArgumentException(json.toString());
+      }
+
+      @Override
+      public T[] decode(JsonReader reader) {
+        if (reader.peek() == JsonReader.Token.BEGIN_ARRAY) {
+          int mark = reader.itemsMark();
+          reader.beginArray();
+          while (reader.hasNext()) {
+            reader.addItem(itemDecoder.decode(reader));
+          }
+          reader.endArray();
+          var array = (T[]) Array.newInstance(type, reader.itemsMark() - mark);
+          reader.removeItems(mark, array);
+          return array;
+        }
+        throw new IllegalArgumentException("expected array but was " + reader.peek());
       }
-      throw new IllegalArgumentException(json.toString());
     };
   }
 
+  /**
+   * Unknown values are decoded as the constant annotated with {@link JsonEnumDefaultValue}, or
+   * rejected if there's no such constant.
+   *
+   * @param <T>
+   * @param type
+   * @return
+   */
   static <T extends Enum<T>> JsonDecoder<T> enumDecoder(Class<T> type) {
-    return create(String.class).andThen(string -> Enum.valueOf(type, string));
+    return EnumAdapter.of(type);
+  }
+
+  /**
+   * Same as {@link #enumDecoder(Class)} but unknown values are decoded as the given fallback.
+   *
+   * @param <T>
+   * @param type
+   * @param fallback the value of unknown values, it can be {@code null}
+   * @return
+   */
+  static <T extends Enum<T>> JsonDecoder<T> enumDecoder(Class<T> type, @Nullable T fallback) {
+    return EnumAdapter.of(type, fallback);
   }
 
   private static <T> JsonDecoder<T> recordDecoder(Class<T> clazz) {
@@ -97,13 +162,28 @@ public interface JsonDecoder<T> {
         .map(Tuple2::get1)
         .map(RecordComponent::getType)
         .toList();
-    var constructor = findCanonicalConstructor(clazz, types);
-    var recordCreator = recordCreator(constructor, fields);
-    return json -> {
-      if (json instanceof JsonNode.JsonObject object) {
-        return recordCreator.apply(object);
+    var factory = Accessors.factory(findCanonicalConstructor(clazz, types));
+    var jsonFields = new JsonFields(
+        fields.stream().map(Tuple2::get1).map(RecordComponent::getName).toList(),
+        fields.stream().map(Tuple2::get2).toList(),
+        types);
+    return new JsonDecoder<>() {
+
+      @Override
+      public T decode(JsonNode json) {
+        if (json instanceof JsonNode.JsonObject object) {
+          return factory.create(jsonFields.decode(object));
+        }
+        throw new IllegalArgumentException(json.toString());
+      }
+
+      @Override
+      public T decode(JsonReader reader) {
+        if (reader.peek() == JsonReader.Token.BEGIN_OBJECT) {
+          return factory.create(jsonFields.decode(reader));
+        }
+        throw new IllegalArgumentException("expected object but was " + reader.peek());
       }
-      throw new IllegalArgumentException(json.toString());
     };
   }
 
@@ -116,37 +196,40 @@ public interface JsonDecoder<T> {
         .toList();
     var constructor = findConstructor(clazz);
     var pojoCreator = pojoCreator(constructor, fields);
-    return json -> {
-      if (json instanceof JsonNode.JsonObject object) {
-        return pojoCreator.apply(object);
-      }
-      throw new IllegalArgumentException(json.toString());
-    };
-  }
+    var jsonFields = pojoFields(constructor, fields);
+    return new JsonDecoder<>() {
 
-  private static <T> Function1<JsonNode.JsonObject, T> recordCreator(
-      Constructor<T> constructor, List<Tuple2<RecordComponent, JsonDecoder<Object>>> fields) {
-    return object -> {
-      var values = new ArrayList<>();
-      for (var pair : fields) {
-        JsonNode jsonElement = object.get(pair.get1().getName());
-        values.add(pair.get2().decode(jsonElement));
+      @Override
+      public T decode(JsonNode json) {
+        if (json instanceof JsonNode.JsonObject object) {
+          return pojoCreator.apply(jsonFields.decode(object));
+        }
+        throw new IllegalArgumentException(json.toString());
       }
-      try {
-        return constructor.newInstance(values.toArray(Object[]::new));
-      } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
-        throw new IllegalStateException("cannot create instance of record: " + constructor.getDeclaringClass().getName(), e);
+
+      @Override
+      public T decode(JsonReader reader) {
+        if (reader.peek() == JsonReader.Token.BEGIN_OBJECT) {
+          return pojoCreator.apply(jsonFields.decode(reader));
+        }
+        throw new IllegalArgumentException("expected object but was " + reader.peek());
       }
     };
   }
 
-  private static <T> Function1<JsonNode.JsonObject, T>
+  /**
+   * @param constructor
+   * @param fields
+   * @return a function that creates the pojo from the decoded values of the fields, in the same
+   *         order of {@link #pojoFields(Constructor, List)}
+   */
+  private static <T> Function1<Object[], T>
       pojoCreator(Constructor<T> constructor, List<Tuple2<Field, JsonDecoder<Object>>> fields) {
     if (!constructor.trySetAccessible()) {
       throw new IllegalStateException("cannot access to constructor: " + constructor);
     }
     if (constructor.getParameterCount() > 0 && constructor.isAnnotationPresent(JsonCreator.class)) {
-      return pojoCreatorFromAnnotatedConstructor(constructor, fields);
+      return pojoCreatorFromAnnotatedConstructor(constructor);
     }
     if (constructor.getParameterCount() == 0) {
       return pojoCreatorFromDefaultConstructor(constructor, fields);
@@ -154,42 +237,66 @@ public interface JsonDecoder<T> {
     throw new IllegalStateException("no suitable constructor for type " + constructor.getDeclaringClass().getName());
   }
 
-  private static <T> Function1<JsonNode.JsonObject, T> pojoCreatorFromDefaultConstructor(
-      Constructor<T> constructor, List<Tuple2<Field, JsonDecoder<Object>>> fields) {
-    return object -> {
-      try {
-        T value = constructor.newInstance();
-        for (var pair : fields) {
-          var node = object.get(pair.get1().getName());
-          pair.get1().set(value, pair.get2().decode(node));
-        }
-        return value;
-      } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
-        throw new IllegalStateException("cannot create pojo using constructor " + constructor, e);
-      }
-    };
+  /**
+   * The plan to decode the fields is resolved only once. For an annotated constructor, the names
+   * are the values of the {@link JsonProperty} annotations of the parameters, in the same order, and
+   * each one is decoded with the decoder of the field with the same name or, if there is no such
+   * field, with the decoder of the type of the parameter.
+   *
+   * @param constructor
+   * @param fields
+   * @return
+   */
+  private static <T> JsonFields
+      pojoFields(Constructor<T> constructor, List<Tuple2<Field, JsonDecoder<Object>>> fields) {
+    if (constructor.getParameterCount() > 0 && constructor.isAnnotationPresent(JsonCreator.class)) {
+      var fieldsToDecode =
+          fields.stream().collect(toUnmodifiableMap(t -> t.get1().getName(), Tuple2::get2));
+      var parameters = Arrays.asList(constructor.getParameters());
+      var names = parameters.stream()
+          .map(JsonDecoder::propertyName)
+          .toList();
+      var decoders = parameters.stream()
+          .map(p -> {
+            var decoder = fieldsToDecode.get(propertyName(p));
+            return decoder != null ? decoder : decoder(p.getParameterizedType());
+          })
+          .toList();
+      return new JsonFields(names, decoders, parameters.stream().map(Parameter::getType).toList());
+    }
+    return new JsonFields(
+        fields.stream().map(Tuple2::get1).map(Field::getName).toList(),
+        fields.stream().map(Tuple2::get2).toList(),
+        fields.stream().map(Tuple2::get1).map(Field::getType).toList());
   }
 
-  private static <T> Function1<JsonNode.JsonObject, T> pojoCreatorFromAnnotatedConstructor(
+  private static String propertyName(Parameter parameter) {
+    var property = parameter.getAnnotation(JsonProperty.class);
+    if (property == null) {
+      throw new IllegalStateException("missing @JsonProperty annotation in parameter "
+          + parameter + " of " + parameter.getDeclaringExecutable());
+    }
+    return property.value();
+  }
+
+  private static <T> Function1<Object[], T> pojoCreatorFromDefaultConstructor(
       Constructor<T> constructor, List<Tuple2<Field, JsonDecoder<Object>>> fields) {
-    return object -> {
-      try {
-        var fieldsToDecode =
-            fields.stream().collect(toUnmodifiableMap(t -> t.get1().getName(), Tuple2::get2));
-
-        var values = Arrays.stream(constructor.getParameters())
-            .map(p -> p.getAnnotation(JsonProperty.class))
-            .map(JsonProperty::value)
-            .map(name -> fieldsToDecode.getOrDefault(name, JsonDecoderModule.NULL).decode(object.get(name)))
-            .toArray();
-
-        return constructor.newInstance(values);
-      } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
-        throw new IllegalStateException("cannot create pojo using constructor " + constructor, e);
+    var factory = Accessors.factory(constructor);
+    var setters = fields.stream().map(Tuple2::get1).map(Accessors::setter).toArray(Accessors.Setter[]::new);
+    var noArgs = new Object[0];
+    return values -> {
+      T value = factory.create(noArgs);
+      for (int i = 0; i < values.length; i++) {
+        setters[i].set(value, values[i]);
       }
+      return value;
     };
   }
 
+  private static <T> Function1<Object[], T> pojoCreatorFromAnnotatedConstructor(Constructor<T> constructor) {
+    return Accessors.factory(constructor)::create;
+  }
+
   private static <T> Constructor<T> findCanonicalConstructor(Class<T> clazz, List<? extends Class<?>> types) {
     try {
       return clazz.getDeclaredConstructor(types.toArray(Class[]::new));
@@ -220,40 +327,86 @@ public interface JsonDecoder<T> {
   }
 
   static <E> JsonDecoder<Iterable<E>> iterableDecoder(JsonDecoder<E> itemDecoder) {
-    return json -> {
-      if (json instanceof JsonNode.JsonArray array) {
-        var list = new ArrayList<E>();
-        for (var object : array) {
-          list.add(itemDecoder.decode(object));
+    return collectionDecoder(itemDecoder, CollectionBuilder.iterable());
+  }
+
+  private static <E, R> JsonDecoder<R> collectionDecoder(JsonDecoder<E> itemDecoder, CollectionBuilder<E, R> builder) {
+    return new JsonDecoder<>() {
+
+      @Override
+      public R decode(JsonNode json) {
+        if (json instanceof JsonNode.JsonArray array) {
+          return builder.build(array, itemDecoder);
         }
-        return unmodifiableList(list);
+        throw new IllegalArgumentException(json.toString());
+      }
+
+      @Override
+      public R decode(JsonReader reader) {
+        if (reader.peek() == JsonReader.Token.BEGIN_ARRAY) {
+          return builder.build(reader, itemDecoder);
+        }
+        throw new IllegalArgumentException("expected array but was " + reader.peek());
       }
-      throw new IllegalArgumentException(json.toString());
     };
   }
 
   static <V> JsonDecoder<Map<String, V>> mapDecoder(JsonDecoder<V> itemEncoder) {
-    return json -> {
-      if (json instanceof JsonNode.JsonObject object) {
-        var map = new LinkedHashMap<String, V>();
-        for (Tuple tuple : object) {
-          map.put(tuple.key(), itemEncoder.decode(tuple.value()));
+    return new JsonDecoder<>() {
+
+      @Override
+      public Map<String, V> decode(JsonNode json) {
+        if (json instanceof JsonNode.JsonObject object) {
+          var map = new LinkedHashMap<String, V>();
+          for (Tuple tuple : object) {
+            map.put(tuple.key(), itemEncoder.decode(tuple.value()));
+          }
+          return unmodifiableMap(map);
         }
-        return unmodifiableMap(map);
+        throw new IllegalArgumentException(json.toString());
+      }
+
+      @Override
+      public Map<String, V> decode(JsonReader reader) {
+        if (reader.peek() == JsonReader.Token.BEGIN_OBJECT) {
+          var map = new LinkedHashMap<String, V>();
+          reader.beginObject();
+          while (reader.hasNext()) {
+            var name = reader.nextName();
+            map.put(name, itemEncoder.decode(reader));
+          }
+          reader.endObject();
+          return unmodifiableMap(map);
+        }
+        throw new IllegalArgumentException("expected object but was " + reader.peek());
       }
-      throw new IllegalArgumentException(json.toString());
     };
   }
 
   static <T> JsonDecoder<T> nullSafe(JsonDecoder<T> decoder) {
-    return json -> {
-      if (json == null) {
-        return null;
+    return new JsonDecoder<>() {
+
+      @Override
+      @Nullable
+      public T decode(JsonNode json) {
+        if (json == null) {
+          return null;
+        }
+        if (json instanceof JsonNode.JsonNull) {
+          return null;
+        }
+        return decoder.decode(json);
       }
-      if (json instanceof JsonNode.JsonNull) {
-        return null;
+
+      @Override
+      @Nullable
+      public T decode(JsonReader reader) {
+        if (reader.peek() == JsonReader.Token.NULL) {
+          reader.nextNull();
+          return null;
+        }
+        return decoder.decode(reader);
       }
-      return decoder.decode(json);
     };
   }
 
@@ -279,11 +432,11 @@ public interface JsonDecoder<T> {
     if (type.getRawType() instanceof Class<?> c) {
       if (Collection.class.isAssignableFrom(c)) {
         var create = decoder(type.getActualTypeArguments()[0]);
-        return (JsonDecoder<T>) iterableDecoder(create).andThen(toCollection(c));
+        return (JsonDecoder<T>) collectionDecoder(create, CollectionBuilder.collection(c));
       }
       if (Sequence.class.isAssignableFrom(c)) {
         var create = decoder(type.getActualTypeArguments()[0]);
-        return (JsonDecoder<T>) iterableDecoder(create).andThen(toSequence(c));
+        return (JsonDecoder<T>) collectionDecoder(create, CollectionBuilder.sequence(c));
       }
       if (Map.class.isAssignableFrom(c) && type.getActualTypeArguments()[0].equals(String.class)) {
         var create = decoder(type.getActualTypeArguments()[1]);
@@ -351,11 +504,14 @@ public interface JsonDecoder<T> {
     if (type.isEnum()) {
       return enumDecoder((Class) type);
     }
+    if (type.isArray() && type.getComponentType().isPrimitive()) {
+      return (JsonDecoder<T>) PrimitiveArrays.decoder(type);
+    }
     if (type.isArray()) {
       return arrayDecoder((Class) type.getComponentType());
     }
     if (type.isRecord()) {
-      return recordDecoder(type);
+      return AdapterGenerator.generate(type).<JsonDecoder<T>>map(a -> a).getOrElse(() -> recordDecoder(type));
     }
     return pojoDecoder(type);
   }
@@ -389,41 +545,6 @@ public interface JsonDecoder<T> {
     throw new IllegalArgumentException("a new primitive type?" + type.getTypeName());
   }
 
-  private static <T> Function1<Iterable<T>, Collection<T>> toCollection(Class<?> type) {
-    if (Deque.class.isAssignableFrom(type)) {
-      return iterable -> ImmutableList.from(iterable).toList();
-    }
-    if (Queue.class.isAssignableFrom(type)) {
-      return iterable -> ImmutableList.from(iterable).toList();
-    }
-    if (List.class.isAssignableFrom(type)) {
-      return iterable -> ImmutableArray.from(iterable).toList();
-    }
-    if (NavigableSet.class.isAssignableFrom(type)) {
-      return iterable -> ImmutableTree.from(iterable).toNavigableSet();
-    }
-    if (Set.class.isAssignableFrom(type)) {
-      return iterable -> ImmutableSet.from(iterable).toSet();
-    }
-    return iterable -> ImmutableArray.from(iterable).toList();
-  }
-
-  private static <T> Function1<Iterable<T>, Sequence<T>> toSequence(Class<?> type) {
-    if (ImmutableList.class.isAssignableFrom(type)) {
-      return ImmutableList::from;
-    }
-    if (ImmutableArray.class.isAssignableFrom(type)) {
-      return ImmutableArray::from;
-    }
-    if (ImmutableSet.class.isAssignableFrom(type)) {
-      return ImmutableSet::from;
-    }
-    if (ImmutableTree.class.isAssignableFrom(type)) {
-      return ImmutableTree::from;
-    }
-    return ImmutableList::from;
-  }
-
   private static <T> Function1<Map<String, T>, ImmutableMap<String, T>> toImmutableMap(Class<?> type) {
     if (ImmutableTreeMap.class.isAssignableFrom(type)) {
       return ImmutableTreeMap::from;
@@ -434,16 +555,65 @@ public interface JsonDecoder<T> {
 
 interface JsonDecoderModule {
 
+  TypeCache<JsonDecoder<?>> CACHE = new TypeCache<>();
+
   JsonDecoder<Object> NULL = ignore -> null;
-  JsonDecoder<String> STRING = JsonNode::asString;
-  JsonDecoder<Character> CHAR = JsonNode::asCharacter;
-  JsonDecoder<Byte> BYTE = JsonNode::asByte;
-  JsonDecoder<Short> SHORT = JsonNode::asShort;
-  JsonDecoder<Integer> INTEGER = JsonNode::asInt;
-  JsonDecoder<Long> LONG = JsonNode::asLong;
-  JsonDecoder<Float> FLOAT = JsonNode::asFloat;
-  JsonDecoder<Double> DOUBLE = JsonNode::asDouble;
-  JsonDecoder<BigInteger> BIG_INTEGER = JsonNode::asBigInteger;
-  JsonDecoder<BigDecimal> BIG_DECIMAL = JsonNode::asBigDecimal;
-  JsonDecoder<Boolean> BOOLEAN = JsonNode::asBoolean;
-}
\ No newline at end of file
+  JsonDecoder<String> STRING = of(JsonNode::asString, JsonReader.Token.STRING, JsonReader::nextString);
+  JsonDecoder<Character> CHAR = of(JsonNode::asCharacter, JsonReader.Token.STRING, reader -> reader.nextString().charAt(0));
+  JsonDecoder<Byte> BYTE = of(JsonNode::asByte, JsonReader.Token.NUMBER, reader -> number(reader.nextNumber()).byteValue());
+  JsonDecoder<Short> SHORT = of(JsonNode::asShort, JsonReader.Token.NUMBER, reader -> number(reader.nextNumber()).shortValue());
+  JsonDecoder<Integer> INTEGER = of(JsonNode::asInt, JsonReader.Token.NUMBER, reader -> {
+    var number = reader.nextNumber();
+    return NumberParser.isLong(number) ? (int) Long.parseLong(number) : NumberParser.parse(number).intValue();
+  });
+  JsonDecoder<Long> LONG = of(JsonNode::asLong, JsonReader.Token.NUMBER, reader -> {
+    var number = reader.nextNumber();
+    return NumberParser.isLong(number) ? Long.parseLong(number) : NumberParser.parse(number).longValue();
+  });
+  JsonDecoder<Float> FLOAT = of(JsonNode::asFloat, JsonReader.Token.NUMBER, reader -> {
+    var number = reader.nextNumber();
+    return NumberParser.isLong(number) ? (float) Long.parseLong(number) : Float.parseFloat(number);
+  });
+  JsonDecoder<Double> DOUBLE = of(JsonNode::asDouble, JsonReader.Token.NUMBER, reader -> {
+    var number = reader.nextNumber();
+    return NumberParser.isLong(number) ? (double) Long.parseLong(number) : NumberParser.parseDouble(number);
+  });
+  JsonDecoder<BigInteger> BIG_INTEGER = of(JsonNode::asBigInteger, JsonReader.Token.NUMBER,
+      reader -> PureJsonHandler.number(reader.nextNumber()).asBigInteger());
+  JsonDecoder<BigDecimal> BIG_DECIMAL = of(JsonNode::asBigDecimal, JsonReader.Token.NUMBER,
+      reader -> PureJsonHandler.number(reader.nextNumber()).asBigDecimal());
+  JsonDecoder<Boolean> BOOLEAN = of(JsonNode::asBoolean, JsonReader.Token.BOOLEAN, JsonReader::nextBoolean);
+
+  /**
+   * Values are read directly from the token when it's the expected one, with the same conversions
+   * of the nodes, so no node is created. Any other token is decoded as a node, so the result is
+   * the same in both cases.
+   */
+  private static <T> JsonDecoder<T> of(JsonDecoder<T> decoder, JsonReader.Token token, Function<JsonReader, T> streaming) {
+    return new JsonDecoder<>() {
+      @Override
+      @Nullable
+      public T decode(JsonNode json) {
+        return decoder.decode(json);
+      }
+
+      @Override
+      @Nullable
+      public T decode(JsonReader reader) {
+        var next = reader.peek();
+        if (next == token) {
+          return streaming.apply(reader);
+        }
+        if (next == JsonReader.Token.NULL) {
+          reader.nextNull();
+          return null;
+        }
+        return decoder.decode(reader.nextNode());
+      }
+    };
+  }
+
+  private static Number number(String value) {
+    return NumberParser.isLong(value) ? Long.valueOf(Long.parseLong(value)) : NumberParser.parse(value);
+  }
+}
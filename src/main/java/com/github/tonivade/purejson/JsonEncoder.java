@@ -8,17 +8,18 @@ import static java.lang.reflect.Modifier.isStatic;
 
 import java.lang.reflect.Field;
 import java.lang.reflect.GenericArrayType;
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.RecordComponent;
 import java.lang.reflect.Type;
 import java.lang.reflect.WildcardType;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
+import java.util.function.BiConsumer;
 
 import com.github.tonivade.purefun.core.Function1;
-import com.github.tonivade.purefun.core.Tuple2;
 import com.github.tonivade.purefun.data.ImmutableMap;
 import com.github.tonivade.purefun.type.Option;
 import com.github.tonivade.purefun.type.Try;
@@ -28,16 +29,49 @@ public interface JsonEncoder<T> {
 
   JsonNode encode(T value);
 
+  /**
+   * Writes the given value directly into the writer. By default the value is encoded as a tree and
+   * then written, implementations should override it to avoid the creation of the intermediate
+   * {@link JsonNode}s.
+   *
+   * @param value
+   * @param writer
+   */
+  default void encode(T value, JsonWriter writer) {
+    writer.value(encode(value));
+  }
+
   default Try<JsonNode> tryEncode(T value) {
     return Try.of(() -> encode(value));
   }
 
   default <R> JsonEncoder<R> compose(Function1<? super R, ? extends T> accesor) {
-    return value -> encode(accesor.apply(value));
+    var self = this;
+    return new JsonEncoder<>() {
+      @Override
+      public JsonNode encode(R value) {
+        return self.encode(accesor.apply(value));
+      }
+
+      @Override
+      public void encode(R value, JsonWriter writer) {
+        self.encode(accesor.apply(value), writer);
+      }
+    };
   }
 
+  /**
+   * It returns the encoder for the given type. Encoders are resolved only once per type and
+   * cached, nested encoders of fields and items are resolved through the same cache.
+   *
+   * @param <T>
+   * @param type
+   * @return
+   */
+  @SuppressWarnings("unchecked")
   static <T> JsonEncoder<T> encoder(Type type) {
-    return nullSafe(JsonEncoder.<T>load(type).getOrElse(() -> create(type)));
+    return (JsonEncoder<T>) JsonEncoderModule.CACHE.get(type,
+        t -> nullSafe(JsonEncoder.<T>load(t).getOrElse(() -> create(t))));
   }
 
   @SuppressWarnings("unchecked")
@@ -45,14 +79,30 @@ public interface JsonEncoder<T> {
     return JsonAdapter.load(type).map(e -> (JsonEncoder<T>) e);
   }
 
+  @SuppressWarnings("unchecked")
   static <T> JsonEncoder<T> arrayEncoder(Type type) {
+    if (type instanceof Class<?> clazz && clazz.isPrimitive()) {
+      return (JsonEncoder<T>) PrimitiveArrays.encoder(clazz.arrayType());
+    }
     var arrayEncoder = encoder(type);
-    return value -> {
-      var array = new JsonNode.JsonArray();
-      for (var item : (Object[]) value) {
-        array.add(arrayEncoder.encode(item));
+    return new JsonEncoder<>() {
+      @Override
+      public JsonNode encode(T value) {
+        var array = new JsonNode.JsonArray();
+        for (var item : (Object[]) value) {
+          array.add(arrayEncoder.encode(item));
+        }
+        return array;
+      }
+
+      @Override
+      public void encode(T value, JsonWriter writer) {
+        writer.beginArray();
+        for (var item : (Object[]) value) {
+          arrayEncoder.encode(item, writer);
+        }
+        writer.endArray();
       }
-      return array;
     };
   }
 
@@ -61,56 +111,91 @@ public interface JsonEncoder<T> {
         .filter(f -> !isStatic(f.getModifiers()))
         .filter(f -> !f.isSynthetic())
         .filter(Field::trySetAccessible)
-        .map(f -> Tuple2.of(f, encoder(f.getGenericType())))
         .toList();
-    return value -> {
-      var object = new JsonNode.JsonObject();
-      for (var pair : fields) {
-        try {
-          object.add(pair.get1().getName(), pair.get2().encode(pair.get1().get(value)));
-        } catch (IllegalAccessException e) {
-          throw new IllegalStateException(e);
-        }
-      }
-      return object;
-    };
+    return objectEncoder(
+        fields.stream().map(Field::getName).toList(),
+        fields.stream().map(Accessors::getter).toList(),
+        fields.stream().map(f -> encoder(f.getGenericType())).toList());
   }
 
   private static <T> JsonEncoder<T> recordEncoder(Class<T> record) {
-    var fields = Arrays.stream(record.getRecordComponents())
-        .map(f -> Tuple2.of(f, encoder(f.getGenericType())))
-        .toList();
-    return value -> {
-      var object = new JsonNode.JsonObject();
-      for (var pair : fields) {
-        try {
-          var field = pair.get1().getAccessor().invoke(value);
-          object.add(pair.get1().getName(), pair.get2().encode(field));
-        } catch (IllegalAccessException | InvocationTargetException e) {
-          throw new IllegalStateException(e);
+    var fields = Arrays.asList(record.getRecordComponents());
+    return objectEncoder(
+        fields.stream().map(RecordComponent::getName).toList(),
+        fields.stream().map(Accessors::getter).toList(),
+        fields.stream().map(f -> encoder(f.getGenericType())).toList());
+  }
+
+  private static <T> JsonEncoder<T> objectEncoder(
+      List<String> names, List<Accessors.Getter> getters, List<JsonEncoder<Object>> encoders) {
+    var nameArray = names.toArray(String[]::new);
+    var getterArray = getters.toArray(Accessors.Getter[]::new);
+    @SuppressWarnings("unchecked")
+    var encoderArray = (JsonEncoder<Object>[]) encoders.toArray(JsonEncoder<?>[]::new);
+    return new JsonEncoder<>() {
+      @Override
+      public JsonNode encode(T value) {
+        var object = new JsonNode.JsonObject();
+        for (int i = 0; i < nameArray.length; i++) {
+          object.add(nameArray[i], encoderArray[i].encode(getterArray[i].get(value)));
+        }
+        return object;
+      }
+
+      @Override
+      public void encode(T value, JsonWriter writer) {
+        writer.beginObject();
+        for (int i = 0; i < nameArray.length; i++) {
+          writer.name(nameArray[i]);
+          encoderArray[i].encode(getterArray[i].get(value), writer);
         }
+        writer.endObject();
       }
-      return object;
     };
   }
 
   static <E> JsonEncoder<Iterable<E>> iterableEncoder(JsonEncoder<E> itemEncoder) {
-    return value -> {
-      var array = new JsonNode.JsonArray();
-      for (E item : value) {
-        array.add(itemEncoder.encode(item));
+    return new JsonEncoder<>() {
+      @Override
+      public JsonNode encode(Iterable<E> value) {
+        var array = new JsonNode.JsonArray();
+        for (E item : value) {
+          array.add(itemEncoder.encode(item));
+        }
+        return array;
+      }
+
+      @Override
+      public void encode(Iterable<E> value, JsonWriter writer) {
+        writer.beginArray();
+        for (E item : value) {
+          itemEncoder.encode(item, writer);
+        }
+        writer.endArray();
       }
-      return array;
     };
   }
 
   static <V> JsonEncoder<Map<String, V>> mapEncoder(JsonEncoder<V> valueEncoder) {
-    return value -> {
-      var object = new JsonNode.JsonObject();
-      for (var entry : value.entrySet()) {
-        object.add(entry.getKey(), valueEncoder.encode(entry.getValue()));
+    return new JsonEncoder<>() {
+      @Override
+      public JsonNode encode(Map<String, V> value) {
+        var object = new JsonNode.JsonObject();
+        for (var entry : value.entrySet()) {
+          object.add(entry.getKey(), valueEncoder.encode(entry.getValue()));
+        }
+        return object;
+      }
+
+      @Override
+      public void encode(Map<String, V> value, JsonWriter writer) {
+        writer.beginObject();
+        for (var entry : value.entrySet()) {
+          writer.name(entry.getKey());
+          valueEncoder.encode(entry.getValue(), writer);
+        }
+        writer.endObject();
       }
-      return object;
     };
   }
 
@@ -119,7 +204,21 @@ public interface JsonEncoder<T> {
   }
 
   static <T> JsonEncoder<T> nullSafe(JsonEncoder<T> encoder) {
-    return value -> value == null ? JsonNode.NULL : encoder.encode(value);
+    return new JsonEncoder<>() {
+      @Override
+      public JsonNode encode(T value) {
+        return value == null ? JsonNode.NULL : encoder.encode(value);
+      }
+
+      @Override
+      public void encode(T value, JsonWriter writer) {
+        if (value == null) {
+          writer.nullValue();
+        } else {
+          encoder.encode(value, writer);
+        }
+      }
+    };
   }
 
   @SuppressWarnings("unchecked")
@@ -170,7 +269,7 @@ public interface JsonEncoder<T> {
     throw new UnsupportedOperationException("not implemented yet: " + type.getTypeName());
   }
 
-  @SuppressWarnings("unchecked")
+  @SuppressWarnings({ "rawtypes", "unchecked" })
   private static <T> JsonEncoder<T> create(Class<T> type) {
     if (type.isPrimitive()) {
       return primitiveEncoder(type);
@@ -209,13 +308,13 @@ public interface JsonEncoder<T> {
       return (JsonEncoder<T>) JsonEncoderModule.BOOLEAN;
     }
     if (type.isEnum()) {
-      return (JsonEncoder<T>) JsonEncoderModule.ENUM;
+      return (JsonEncoder<T>) EnumAdapter.of((Class) type);
     }
     if (type.isArray()) {
       return arrayEncoder(type.getComponentType());
     }
     if (type.isRecord()) {
-      return recordEncoder(type);
+      return AdapterGenerator.generate(type).<JsonEncoder<T>>map(a -> a).getOrElse(() -> recordEncoder(type));
     }
     return pojoEncoder(type);
   }
@@ -252,16 +351,31 @@ public interface JsonEncoder<T> {
 
 interface JsonEncoderModule {
 
-  JsonEncoder<String> STRING = JsonDSL::string;
+  TypeCache<JsonEncoder<?>> CACHE = new TypeCache<>();
+
+  JsonEncoder<String> STRING = of(JsonDSL::string, (value, writer) -> writer.value(value));
   JsonEncoder<Character> CHAR = STRING.compose(Object::toString);
-  JsonEncoder<Byte> BYTE = JsonDSL::number;
-  JsonEncoder<Short> SHORT = JsonDSL::number;
-  JsonEncoder<Integer> INTEGER = JsonDSL::number;
-  JsonEncoder<Long> LONG = JsonDSL::number;
-  JsonEncoder<Float> FLOAT = JsonDSL::number;
-  JsonEncoder<Double> DOUBLE = JsonDSL::number;
-  JsonEncoder<Boolean> BOOLEAN = JsonDSL::bool;
-  JsonEncoder<Enum<?>> ENUM = STRING.compose(Enum::name);
+  JsonEncoder<Byte> BYTE = of(JsonDSL::number, (value, writer) -> writer.value(value.longValue()));
+  JsonEncoder<Short> SHORT = of(JsonDSL::number, (value, writer) -> writer.value(value.longValue()));
+  JsonEncoder<Integer> INTEGER = of(JsonDSL::number, (value, writer) -> writer.value(value.longValue()));
+  JsonEncoder<Long> LONG = of(JsonDSL::number, (value, writer) -> writer.value(value.longValue()));
+  JsonEncoder<Float> FLOAT = of(JsonDSL::number, (value, writer) -> writer.value(value));
+  JsonEncoder<Double> DOUBLE = of(JsonDSL::number, (value, writer) -> writer.value(value.doubleValue()));
+  JsonEncoder<Boolean> BOOLEAN = of(JsonDSL::bool, (value, writer) -> writer.value(value.booleanValue()));
   JsonEncoder<BigDecimal> BIG_DECIMAL = DOUBLE.compose(BigDecimal::doubleValue);
   JsonEncoder<BigInteger> BIG_INTEGER = LONG.compose(BigInteger::longValue);
+
+  private static <T> JsonEncoder<T> of(JsonEncoder<T> encoder, BiConsumer<T, JsonWriter> streaming) {
+    return new JsonEncoder<>() {
+      @Override
+      public JsonNode encode(T value) {
+        return encoder.encode(value);
+      }
+
+      @Override
+      public void encode(T value, JsonWriter writer) {
+        streaming.accept(value, writer);
+      }
+    };
+  }
 }
\ No newline at end of file
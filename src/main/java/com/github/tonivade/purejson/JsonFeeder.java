@@ -0,0 +1,262 @@
+/*
+ * Copyright (c) 2020-2026, Antonio Gabriel Muñoz Conejo <me at tonivade dot es>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.purejson;
+
+import static com.github.tonivade.purefun.core.Precondition.checkNonNull;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Queue;
+
+import com.github.tonivade.purefun.type.Option;
+
+/**
+ * Non blocking parser of UTF-8 encoded values that receives the input in chunks, as they arrive,
+ * instead of reading it from a blocking source. Useful when the input comes from a non blocking
+ * channel.
+ *
+ * <p>The input can have any number of values, separated by whitespace, like newline delimited json.
+ * Each chunk is scanned as soon as it's fed, and the scanner keeps its state between chunks, so a
+ * chunk can end anywhere, even in the middle of a string, a number or an UTF-8 sequence. When a
+ * value is complete it's decoded and it can be polled, only the bytes of the value that is not
+ * complete yet are kept in memory.
+ *
+ * <p>{@code null} values are skipped. Syntax errors are thrown as {@link JsonParseException} by
+ * {@link #feed(ByteBuffer)} or {@link #endOfInput()}, and after an error the feeder cannot be used
+ * anymore. It's not thread safe.
+ *
+ * @param <T> type of the values
+ */
+public final class JsonFeeder<T> {
+
+  private static final int INITIAL_SIZE = 1024;
+  private static final int MAX_RETAINED_SIZE = 64 * 1024;
+
+  private final JsonDecoder<T> decoder;
+  private final Queue<T> values = new ArrayDeque<>();
+  private final StringBuilder scratch = new StringBuilder();
+
+  private byte[] buffer = new byte[INITIAL_SIZE];
+  // bytes of the buffer, from 0 to start are already decoded, and from start to scanned are part
+  // of the current value
+  private int count;
+  private int start;
+  private int scanned;
+  // position in the whole input of the first byte of the buffer
+  private long offset;
+
+  private int depth;
+  private boolean value;
+  private boolean string;
+  private boolean escape;
+  private boolean scalar;
+  private boolean finished;
+  private boolean failed;
+
+  JsonFeeder(JsonDecoder<T> decoder) {
+    this.decoder = checkNonNull(decoder);
+  }
+
+  /**
+   * @return a feeder that returns the parsed values as they are
+   */
+  public static JsonFeeder<JsonNode> nodes() {
+    return new JsonFeeder<>(json -> json);
+  }
+
+  /**
+   * Scans the remaining bytes of the chunk, the position of the chunk is moved to its limit. All
+   * the values completed by the chunk are decoded and can be polled.
+   *
+   * @param chunk
+   * @throws JsonParseException if the chunk has a syntax error
+   * @throws IllegalStateException if the end of the input was already notified or a previous error
+   *         was found
+   */
+  public void feed(ByteBuffer chunk) {
+    checkState();
+    int length = chunk.remaining();
+    ensureCapacity(length);
+    chunk.get(buffer, count, length);
+    count += length;
+    scan();
+    compact();
+  }
+
+  /**
+   * Notifies that there are no more chunks. A value that is not complete yet is an error, except a
+   * number or a literal at the end of the input.
+   *
+   * @throws JsonParseException if the last value is incomplete
+   * @throws IllegalStateException if the end of the input was already notified or a previous error
+   *         was found
+   */
+  public void endOfInput() {
+    checkState();
+    finished = true;
+    if (scalar) {
+      complete(scanned);
+    } else if (value) {
+      failed = true;
+      throw new JsonParseException("unexpected end of input", offset + scanned);
+    }
+  }
+
+  /**
+   * @return the next decoded value or none if there are no completed values yet
+   */
+  public Option<T> poll() {
+    return Option.of(values.poll());
+  }
+
+  /**
+   * @return true if the end of the input was notified and all the values were polled
+   */
+  public boolean isDone() {
+    return finished && values.isEmpty();
+  }
+
+  private void scan() {
+    int i = scanned;
+    while (i < count) {
+      if (string) {
+        if (escape) {
+          escape = false;
+          i++;
+          continue;
+        }
+        i = ByteScanner.INSTANCE.scanString(buffer, i, count);
+        if (i == count) {
+          break;
+        }
+        byte b = buffer[i++];
+        if (b == '\\') {
+          escape = true;
+        } else if (b == '"') {
+          string = false;
+          if (depth == 0) {
+            complete(i);
+          }
+        } else {
+          // control characters are reported by the parser
+          complete(i);
+        }
+        continue;
+      }
+      byte b = buffer[i];
+      if (scalar) {
+        if (isDelimiter(b)) {
+          complete(i);
+          continue;
+        }
+        i++;
+        continue;
+      }
+      i++;
+      switch (b) {
+        case ' ', '\n', '\r', '\t' -> {
+          if (!value) {
+            start = i;
+          }
+        }
+        case '"' -> {
+          value = true;
+          string = true;
+        }
+        case '[', '{' -> {
+          value = true;
+          depth++;
+        }
+        case ']', '}' -> {
+          if (depth == 0) {
+            failed = true;
+            throw new JsonParseException("unexpected character", offset + i - 1);
+          }
+          depth--;
+          if (depth == 0) {
+            complete(i);
+          }
+        }
+        default -> {
+          if (!value) {
+            value = true;
+            scalar = true;
+          }
+        }
+      }
+    }
+    scanned = i;
+  }
+
+  /**
+   * Decodes the current value, from start to end.
+   *
+   * @param end
+   */
+  private void complete(int end) {
+    try {
+      var input = new Utf8Input(buffer, start, end, scratch).startingAt(offset + start);
+      var reader = new JsonReader(input);
+      if (reader.peek() == JsonReader.Token.NULL) {
+        reader.nextNull();
+      } else {
+        values.add(decoder.decode(reader));
+      }
+      reader.endDocument();
+    } catch (RuntimeException e) {
+      failed = true;
+      throw e;
+    }
+    start = end;
+    scanned = end;
+    depth = 0;
+    value = false;
+    string = false;
+    escape = false;
+    scalar = false;
+  }
+
+  /**
+   * Moves the current value to the beginning of the buffer, the buffer is shrunk if it has grown
+   * too much to hold a big value.
+   */
+  private void compact() {
+    if (start > 0) {
+      int remaining = count - start;
+      if (buffer.length > MAX_RETAINED_SIZE && remaining < INITIAL_SIZE) {
+        buffer = Arrays.copyOfRange(buffer, start, start + INITIAL_SIZE);
+      } else {
+        System.arraycopy(buffer, start, buffer, 0, remaining);
+      }
+      offset += start;
+      count = remaining;
+      scanned -= start;
+      start = 0;
+    }
+  }
+
+  private void ensureCapacity(int length) {
+    if (count + length > buffer.length) {
+      buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, count + length));
+    }
+  }
+
+  private void checkState() {
+    if (finished) {
+      throw new IllegalStateException("end of input already notified");
+    }
+    if (failed) {
+      throw new IllegalStateException("invalid input");
+    }
+  }
+
+  private static boolean isDelimiter(byte b) {
+    return switch (b) {
+      case ' ', '\n', '\r', '\t', '"', '[', ']', '{', '}', ',' -> true;
+      default -> false;
+    };
+  }
+}
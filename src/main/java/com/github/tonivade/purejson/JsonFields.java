@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2020-2026, Antonio Gabriel Muñoz Conejo <me at tonivade dot es>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.purejson;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Ordered set of named fields with their decoders. It decodes the values of an object in the same
+ * order the fields were declared, so the result can be used directly as arguments of a
+ * constructor. Fields of primitive types that are missing or {@code null} are decoded as the default
+ * value of the type, zero or false.
+ */
+final class JsonFields {
+
+  private final String[] names;
+  private final JsonDecoder<?>[] decoders;
+  private final JsonReader.Options options;
+  private final Object[] defaults;
+  private final boolean primitives;
+
+  JsonFields(List<String> names, List<? extends JsonDecoder<?>> decoders) {
+    this(names, decoders, List.of());
+  }
+
+  /**
+   * @param names
+   * @param decoders
+   * @param types the types of the fields, used to know the default values of primitive types, it
+   *        can be empty if there are no primitive types
+   */
+  JsonFields(List<String> names, List<? extends JsonDecoder<?>> decoders, List<? extends Class<?>> types) {
+    this.names = names.toArray(String[]::new);
+    this.decoders = decoders.toArray(JsonDecoder<?>[]::new);
+    this.options = JsonReader.Options.of(names);
+    this.defaults = types.stream().map(JsonFields::defaultValue).toArray();
+    this.primitives = Arrays.stream(defaults).anyMatch(value -> value != null);
+  }
+
+  int size() {
+    return names.length;
+  }
+
+  /**
+   * Same as {@link #decode(JsonNode.JsonObject)} but it checks that the value is an object.
+   *
+   * @param json
+   * @return
+   */
+  Object[] decodeObject(JsonNode json) {
+    if (json instanceof JsonNode.JsonObject object) {
+      return decode(object);
+    }
+    throw new IllegalArgumentException(json.toString());
+  }
+
+  /**
+   * Same as {@link #decode(JsonReader)} but it checks that the next value is an object.
+   *
+   * @param reader
+   * @return
+   */
+  Object[] decodeObject(JsonReader reader) {
+    if (reader.peek() == JsonReader.Token.BEGIN_OBJECT) {
+      return decode(reader);
+    }
+    throw new IllegalArgumentException("expected object but was " + reader.peek());
+  }
+
+  /**
+   * Decodes the fields of the object. The fields of the object are iterated only once, and each
+   * value is dispatched to its position using the precomputed hash of the names.
+   *
+   * @param object
+   * @return
+   */
+  Object[] decode(JsonNode.JsonObject object) {
+    var values = new Object[names.length];
+    // first the nodes, then they are replaced by the decoded values
+    object.select(options, values);
+    for (int i = 0; i < names.length; i++) {
+      var node = values[i];
+      values[i] = decoders[i].decode(node != null ? (JsonNode) node : JsonNode.NULL);
+    }
+    return withDefaults(values);
+  }
+
+  /**
+   * Reads the next object from the reader. Unknown fields are skipped, without creating their
+   * names nor their values, and missing fields are decoded as {@code null} values, or the default
+   * value of primitive types, same as {@link #decode(JsonNode.JsonObject)}.
+   *
+   * @param reader
+   * @return
+   */
+  Object[] decode(JsonReader reader) {
+    var values = new Object[names.length];
+    var found = new boolean[names.length];
+    reader.beginObject();
+    while (reader.hasNext()) {
+      int index = reader.selectName(options);
+      if (index >= 0) {
+        values[index] = decoders[index].decode(reader);
+        found[index] = true;
+      } else {
+        reader.skipValue();
+      }
+    }
+    reader.endObject();
+    for (int i = 0; i < names.length; i++) {
+      if (!found[i]) {
+        values[i] = decoders[i].decode(JsonNode.NULL);
+      }
+    }
+    return withDefaults(values);
+  }
+
+  private Object[] withDefaults(Object[] values) {
+    if (primitives) {
+      for (int i = 0; i < defaults.length; i++) {
+        if (values[i] == null) {
+          values[i] = defaults[i];
+        }
+      }
+    }
+    return values;
+  }
+
+  @Nullable
+  private static Object defaultValue(Class<?> type) {
+    if (!type.isPrimitive()) {
+      return null;
+    }
+    if (type.equals(char.class)) {
+      return '\0';
+    }
+    if (type.equals(byte.class)) {
+      return (byte) 0;
+    }
+    if (type.equals(short.class)) {
+      return (short) 0;
+    }
+    if (type.equals(int.class)) {
+      return 0;
+    }
+    if (type.equals(long.class)) {
+      return 0L;
+    }
+    if (type.equals(float.class)) {
+      return 0F;
+    }
+    if (type.equals(double.class)) {
+      return 0D;
+    }
+    if (type.equals(boolean.class)) {
+      return false;
+    }
+    throw new IllegalArgumentException("a new primitive type?" + type.getTypeName());
+  }
+}
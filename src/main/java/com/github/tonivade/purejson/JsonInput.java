@@ -0,0 +1,266 @@
+/*
+ * Copyright (c) 2020-2026, Antonio Gabriel Muñoz Conejo <me at tonivade dot es>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.purejson;
+
+import java.io.Closeable;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Low level source of characters used by {@link JsonReader}. Structural characters are read one
+ * by one, but strings are consumed in bulk by each implementation.
+ */
+abstract class JsonInput implements Closeable {
+
+  private final StringBuilder scratch;
+
+  /**
+   * When enabled line breaks are not valid whitespace, and they are never consumed by a value.
+   * It's used to read newline delimited values.
+   */
+  boolean singleLine;
+
+  // position after the last line break consumed by an invalid string in single line mode, or -1
+  private long lineBreak = -1;
+
+  JsonInput() {
+    this(new StringBuilder());
+  }
+
+  /**
+   * @param scratch buffer used to build the content of numbers and strings, it can be reused by
+   *        other inputs once this one is not used anymore.
+   */
+  JsonInput(StringBuilder scratch) {
+    this.scratch = scratch;
+  }
+
+  /**
+   * @return the next character without consuming it, or -1 at the end of the input
+   */
+  abstract int peek();
+
+  /**
+   * @return the next character, or -1 at the end of the input
+   */
+  abstract int read();
+
+  /**
+   * Skips any whitespace.
+   *
+   * @return the next non whitespace character without consuming it, or -1 at the end of the input
+   */
+  abstract int peekNonWhitespace();
+
+  /**
+   * Reads a string value. The opening quote must be already consumed, and the closing quote is
+   * consumed too.
+   *
+   * @return the unescaped value
+   */
+  abstract String readString();
+
+  /**
+   * Same as {@link #readString()} but the value is the name of a field, so it can be reused from
+   * {@link KeyCache}.
+   *
+   * @return the unescaped name
+   */
+  String readName() {
+    return KeyCache.get(readString());
+  }
+
+  /**
+   * Same as {@link #readName()} but the name is only searched in the given options.
+   *
+   * @param options
+   * @return the index of the name, or -1 if not found
+   */
+  int selectName(JsonReader.Options options) {
+    return options.find(readString());
+  }
+
+  /**
+   * Same as {@link #readString()} but the value is discarded.
+   */
+  abstract void skipString();
+
+  /**
+   * @return number of characters consumed so far
+   */
+  abstract long position();
+
+  @Override
+  public abstract void close();
+
+  final void skip() {
+    read();
+  }
+
+  /**
+   * Reads a number following the json grammar.
+   *
+   * @return the number as it appears in the input
+   */
+  final String readNumber() {
+    var builder = scratch();
+    scanNumber(builder);
+    return builder.toString();
+  }
+
+  final void skipNumber() {
+    scanNumber(null);
+  }
+
+  /**
+   * Consumes the given literal, {@code true}, {@code false} or {@code null}.
+   *
+   * @param literal
+   */
+  final void expect(String literal) {
+    for (int i = 0; i < literal.length(); i++) {
+      if (peek() != literal.charAt(i)) {
+        throw syntaxError("expected " + literal);
+      }
+      skip();
+    }
+  }
+
+  final char readEscape() {
+    int c = readInString();
+    return switch (c) {
+      case '"', '\\', '/' -> (char) c;
+      case 'b' -> '\b';
+      case 'f' -> '\f';
+      case 'n' -> '\n';
+      case 'r' -> '\r';
+      case 't' -> '\t';
+      case 'u' -> readUnicode();
+      case -1 -> throw syntaxError("unterminated string");
+      default -> throw syntaxError("invalid escape sequence");
+    };
+  }
+
+  /**
+   * Reads a character of a string that will be rejected if it's a line break, in single line mode
+   * the position of the line break is kept, so the rest of the line can be skipped without losing
+   * the next one.
+   *
+   * @return the next character, or -1 at the end of the input
+   */
+  final int readInString() {
+    int c = read();
+    if (c == '\n' && singleLine) {
+      lineBreak = position();
+    }
+    return c;
+  }
+
+  /**
+   * @param start
+   * @return true if a line break was consumed after the given position
+   */
+  final boolean lineBreakAfter(long start) {
+    return lineBreak > start;
+  }
+
+  /**
+   * @return the scratch buffer, empty
+   */
+  final StringBuilder scratch() {
+    scratch.setLength(0);
+    return scratch;
+  }
+
+  final JsonParseException syntaxError(String message) {
+    return new JsonParseException(message, position());
+  }
+
+  private char readUnicode() {
+    int value = 0;
+    for (int i = 0; i < 4; i++) {
+      int c = readInString();
+      int digit = hexDigit(c);
+      if (digit < 0) {
+        throw syntaxError("invalid unicode escape sequence");
+      }
+      value = (value << 4) | digit;
+    }
+    return (char) value;
+  }
+
+  private void scanNumber(@Nullable StringBuilder builder) {
+    if (peek() == '-') {
+      append(builder);
+    }
+    int c = peek();
+    if (c == '0') {
+      append(builder);
+    } else if (isDigit(c)) {
+      appendDigits(builder);
+    } else {
+      throw syntaxError("expected digit");
+    }
+    if (peek() == '.') {
+      append(builder);
+      if (!isDigit(peek())) {
+        throw syntaxError("expected digit");
+      }
+      appendDigits(builder);
+    }
+    c = peek();
+    if (c == 'e' || c == 'E') {
+      append(builder);
+      c = peek();
+      if (c == '+' || c == '-') {
+        append(builder);
+      }
+      if (!isDigit(peek())) {
+        throw syntaxError("expected digit");
+      }
+      appendDigits(builder);
+    }
+  }
+
+  private void appendDigits(@Nullable StringBuilder builder) {
+    while (isDigit(peek())) {
+      append(builder);
+    }
+  }
+
+  private void append(@Nullable StringBuilder builder) {
+    int c = read();
+    if (builder != null) {
+      builder.append((char) c);
+    }
+  }
+
+  /**
+   * Only ascii hex digits are valid in an unicode escape sequence.
+   *
+   * @param c
+   * @return the value of the digit, or -1 if it's not an hex digit
+   */
+  static int hexDigit(int c) {
+    if (c >= '0' && c <= '9') {
+      return c - '0';
+    }
+    if (c >= 'a' && c <= 'f') {
+      return c - 'a' + 10;
+    }
+    if (c >= 'A' && c <= 'F') {
+      return c - 'A' + 10;
+    }
+    return -1;
+  }
+
+  static boolean isDigit(int c) {
+    return c >= '0' && c <= '9';
+  }
+
+  static boolean isWhitespace(int c) {
+    return c == ' ' || c == '\n' || c == '\r' || c == '\t';
+  }
+}
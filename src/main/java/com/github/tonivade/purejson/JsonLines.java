@@ -0,0 +1,199 @@
+/*
+ * Copyright (c) 2020-2026, Antonio Gabriel Muñoz Conejo <me at tonivade dot es>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.purejson;
+
+import static com.github.tonivade.purefun.core.Precondition.checkNonNull;
+
+import java.io.Closeable;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Lazy iterator of the values of a newline delimited json input (also known as NDJSON or JSON
+ * Lines), one value per line. The same reader, and its buffer, is used for all the lines.
+ *
+ * <p>Blank lines and {@code null} values are skipped. Lines that cannot be decoded, including values
+ * that span more than one line, are reported to the {@link ErrorHandler}, and if it doesn't throw
+ * an exception the rest of the line is discarded and the next line is read.
+ *
+ * @param <T> type of the values
+ */
+public final class JsonLines<T> implements Iterator<T>, Closeable {
+
+  private final JsonInput input;
+  private final JsonReader reader;
+  private final JsonDecoder<T> decoder;
+  private final ErrorHandler handler;
+
+  private long line = 1;
+  @Nullable
+  private T next;
+
+  JsonLines(JsonInput input, JsonDecoder<T> decoder, ErrorHandler handler) {
+    this.input = checkNonNull(input);
+    this.input.singleLine = true;
+    this.reader = new JsonReader(input);
+    this.decoder = checkNonNull(decoder);
+    this.handler = checkNonNull(handler);
+  }
+
+  @Override
+  public boolean hasNext() {
+    while (next == null) {
+      if (!nextLine()) {
+        return false;
+      }
+      long current = line;
+      long start = input.position();
+      try {
+        next = decode();
+        endOfLine();
+      } catch (RuntimeException e) {
+        next = null;
+        skipLine(start);
+        handler.onError(new LineError(current, e));
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public T next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    var value = checkNonNull(next);
+    next = null;
+    return value;
+  }
+
+  /**
+   * @return a sequential stream of the remaining values, closing the stream closes the input too
+   */
+  public Stream<T> stream() {
+    var spliterator = Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL);
+    return StreamSupport.stream(spliterator, false).onClose(this::close);
+  }
+
+  @Override
+  public void close() {
+    input.close();
+  }
+
+  @Nullable
+  private T decode() {
+    reader.reset();
+    if (reader.peek() == JsonReader.Token.NULL) {
+      reader.nextNull();
+      return null;
+    }
+    return decoder.decode(reader);
+  }
+
+  /**
+   * Skips blank lines.
+   *
+   * @return false if there are no more lines
+   */
+  private boolean nextLine() {
+    while (true) {
+      int c = input.peek();
+      if (c == -1) {
+        return false;
+      }
+      if (!JsonInput.isWhitespace(c)) {
+        return true;
+      }
+      input.skip();
+      if (c == '\n') {
+        line++;
+      }
+    }
+  }
+
+  private void endOfLine() {
+    while (true) {
+      int c = input.read();
+      if (c == -1) {
+        return;
+      }
+      if (c == '\n') {
+        line++;
+        return;
+      }
+      if (!JsonInput.isWhitespace(c)) {
+        throw input.syntaxError("expected end of line");
+      }
+    }
+  }
+
+  /**
+   * Skips the rest of the line, if the line break was already consumed by the invalid value only
+   * the line number is updated.
+   *
+   * @param start position of the line
+   */
+  private void skipLine(long start) {
+    if (input.lineBreakAfter(start)) {
+      line++;
+      return;
+    }
+    int c;
+    do {
+      c = input.read();
+    } while (c != '\n' && c != -1);
+    line++;
+  }
+
+  /**
+   * Error found decoding a line.
+   *
+   * @param line number of the line, starting with 1
+   * @param cause the original error
+   */
+  public record LineError(long line, RuntimeException cause) { }
+
+  /**
+   * Handles the lines that cannot be decoded. If it throws an exception, it will be propagated to
+   * the caller of the iterator or stream.
+   */
+  @FunctionalInterface
+  public interface ErrorHandler {
+
+    void onError(LineError error);
+
+    /**
+     * @return a handler that stops the iteration throwing the original error
+     */
+    static ErrorHandler fail() {
+      return error -> {
+        throw error.cause();
+      };
+    }
+
+    /**
+     * @return a handler that ignores the invalid lines
+     */
+    static ErrorHandler skip() {
+      return error -> { };
+    }
+
+    /**
+     * @param errors collection where the errors will be added
+     * @return a handler that keeps all the errors and continues with the next line
+     */
+    static ErrorHandler collect(Collection<? super LineError> errors) {
+      checkNonNull(errors);
+      return errors::add;
+    }
+  }
+}
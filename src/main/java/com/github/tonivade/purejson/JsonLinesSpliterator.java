@@ -0,0 +1,198 @@
+/*
+ * Copyright (c) 2020-2026, Antonio Gabriel Muñoz Conejo <me at tonivade dot es>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.purejson;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Splittable source of the values of a newline delimited json input. The input is split in halves
+ * at the nearest line break, so each part contains only complete lines and can be decoded on its
+ * own by a different thread.
+ *
+ * <p>Line numbers of the errors are relative to the whole input, but they are only calculated when
+ * an error is found.
+ *
+ * @param <T> type of the values
+ */
+final class JsonLinesSpliterator<T> implements Spliterator<T> {
+
+  private static final int MIN_SPLIT_SIZE = 1 << 16;
+
+  private final List<ByteBuffer> input;
+  private final JsonDecoder<T> decoder;
+  private final JsonLines.ErrorHandler handler;
+  private final int characteristics;
+
+  private List<Chunk> chunks;
+  private int next;
+
+  @Nullable
+  private JsonLines<T> current;
+
+  /**
+   * @param input consecutive chunks of the input, each chunk should end with a line break
+   * @param decoder
+   * @param handler it's called from different threads
+   * @param ordered
+   */
+  JsonLinesSpliterator(List<ByteBuffer> input, JsonDecoder<T> decoder,
+      JsonLines.ErrorHandler handler, boolean ordered) {
+    this(input, chunks(input), decoder, handler,
+        NONNULL | IMMUTABLE | (ordered ? ORDERED : 0));
+  }
+
+  private JsonLinesSpliterator(List<ByteBuffer> input, List<Chunk> chunks, JsonDecoder<T> decoder,
+      JsonLines.ErrorHandler handler, int characteristics) {
+    this.input = input;
+    this.chunks = chunks;
+    this.decoder = decoder;
+    this.handler = handler;
+    this.characteristics = characteristics;
+  }
+
+  @Override
+  public boolean tryAdvance(Consumer<? super T> action) {
+    while (true) {
+      var lines = current;
+      if (lines == null) {
+        if (next == chunks.size()) {
+          return false;
+        }
+        lines = open(chunks.get(next++));
+        current = lines;
+      }
+      if (lines.hasNext()) {
+        action.accept(lines.next());
+        return true;
+      }
+      current = null;
+    }
+  }
+
+  @Override
+  @Nullable
+  public Spliterator<T> trySplit() {
+    if (current != null) {
+      return null;
+    }
+    int remaining = chunks.size() - next;
+    if (remaining > 1) {
+      int middle = next + remaining / 2;
+      var prefix = split(chunks.subList(next, middle));
+      chunks = chunks.subList(middle, chunks.size());
+      next = 0;
+      return prefix;
+    }
+    if (remaining == 1) {
+      var chunk = chunks.get(next);
+      int length = chunk.end - chunk.start;
+      if (length < MIN_SPLIT_SIZE) {
+        return null;
+      }
+      int lineBreak = nextLineBreak(input.get(chunk.index), chunk.start + length / 2, chunk.end);
+      if (lineBreak < 0 || lineBreak + 1 == chunk.end) {
+        return null;
+      }
+      var prefix = split(List.of(new Chunk(chunk.index, chunk.start, lineBreak + 1)));
+      chunks = List.of(new Chunk(chunk.index, lineBreak + 1, chunk.end));
+      next = 0;
+      return prefix;
+    }
+    return null;
+  }
+
+  /**
+   * @return remaining bytes, it's proportional to the number of values
+   */
+  @Override
+  public long estimateSize() {
+    long size = 0;
+    for (int i = next; i < chunks.size(); i++) {
+      size += chunks.get(i).end - chunks.get(i).start;
+    }
+    return size;
+  }
+
+  @Override
+  public int characteristics() {
+    return characteristics;
+  }
+
+  private JsonLinesSpliterator<T> split(List<Chunk> prefix) {
+    return new JsonLinesSpliterator<>(input, prefix, decoder, handler, characteristics);
+  }
+
+  private JsonLines<T> open(Chunk chunk) {
+    var buffer = input.get(chunk.index).slice(chunk.start, chunk.end - chunk.start);
+    return new JsonLines<>(Utf8Input.of(buffer), decoder, new ErrorHandler(chunk));
+  }
+
+  private long linesBefore(Chunk chunk) {
+    long lines = 0;
+    for (int i = 0; i < chunk.index; i++) {
+      var buffer = input.get(i);
+      lines += countLineBreaks(buffer, 0, buffer.limit());
+    }
+    return lines + countLineBreaks(input.get(chunk.index), 0, chunk.start);
+  }
+
+  private static List<Chunk> chunks(List<ByteBuffer> input) {
+    var chunks = new Chunk[input.size()];
+    for (int i = 0; i < chunks.length; i++) {
+      chunks[i] = new Chunk(i, 0, input.get(i).limit());
+    }
+    return List.of(chunks);
+  }
+
+  private static int nextLineBreak(ByteBuffer buffer, int start, int end) {
+    for (int i = start; i < end; i++) {
+      if (buffer.get(i) == '\n') {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private static long countLineBreaks(ByteBuffer buffer, int start, int end) {
+    long count = 0;
+    for (int i = start; i < end; i++) {
+      if (buffer.get(i) == '\n') {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Range of bytes of one of the buffers of the input.
+   */
+  private record Chunk(int index, int start, int end) { }
+
+  /**
+   * Translates the line numbers of a chunk to line numbers of the whole input.
+   */
+  private final class ErrorHandler implements JsonLines.ErrorHandler {
+
+    private final Chunk chunk;
+    private long offset = -1;
+
+    private ErrorHandler(Chunk chunk) {
+      this.chunk = chunk;
+    }
+
+    @Override
+    public void onError(JsonLines.LineError error) {
+      if (offset < 0) {
+        offset = linesBefore(chunk);
+      }
+      handler.onError(new JsonLines.LineError(offset + error.line(), error.cause()));
+    }
+  }
+}
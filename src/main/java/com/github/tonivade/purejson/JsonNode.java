@@ -6,8 +6,9 @@ package com.github.tonivade.purejson;
 
 import static com.github.tonivade.purefun.core.Precondition.checkNonNull;
 import static com.github.tonivade.purefun.core.Unit.unit;
-import static java.util.stream.Collectors.joining;
 
+import java.io.IOException;
+import java.io.ObjectOutputStream;
 import java.io.Serial;
 import java.io.Serializable;
 import java.io.Writer;
@@ -20,6 +21,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 
+import org.jspecify.annotations.Nullable;
+
 import com.github.tonivade.purefun.core.Unit;
 import com.github.tonivade.purefun.type.Try;
 
@@ -31,7 +34,9 @@ public sealed interface JsonNode extends Serializable {
 
   default Try<Unit> writeTo(Writer writer) {
     return Try.of(() -> {
-      writer.write(toString());
+      var output = new JsonWriter(writer);
+      output.value(this);
+      output.flush();
       return unit();
     });
   }
@@ -175,23 +180,51 @@ public sealed interface JsonNode extends Serializable {
     @Serial
     private static final long serialVersionUID = 2330798672175039020L;
 
-    private final List<JsonNode> values = new ArrayList<>();
+    // when the array is lazy, items are created from the tape only when they are accessed
+    @Nullable
+    private final transient Tape tape;
+    private final transient int index;
+    @Nullable
+    private transient volatile int[] items;
+
+    @Nullable
+    private volatile List<JsonNode> values;
+
+    public JsonArray() {
+      this.tape = null;
+      this.index = 0;
+      this.values = new ArrayList<>();
+    }
+
+    JsonArray(Tape tape, int index) {
+      this.tape = tape;
+      this.index = index;
+    }
 
     public int size() {
-      return values.size();
+      var tape = this.tape;
+      if (values == null && tape != null) {
+        return tape.size(index);
+      }
+      return values().size();
     }
 
     @Override
     public Iterator<JsonNode> iterator() {
-      return values.stream().iterator();
+      return values().stream().iterator();
     }
 
     public JsonNode get(int i) {
-      return values.get(i);
+      var tape = this.tape;
+      var current = values;
+      if (current == null && tape != null) {
+        return tape.node(items(tape)[i]);
+      }
+      return values().get(i);
     }
 
     void add(JsonNode value) {
-      values.add(value);
+      values().add(value);
     }
 
     @Override
@@ -206,20 +239,45 @@ public sealed interface JsonNode extends Serializable {
 
     @Override
     public int hashCode() {
-      return Objects.hash(values);
+      return Objects.hash(values());
     }
 
     @Override
     public boolean equals(Object obj) {
       if (obj instanceof JsonArray other) {
-        return Objects.equals(this.values, other.values);
+        return Objects.equals(this.values(), other.values());
       }
       return false;
     }
 
     @Override
     public String toString() {
-      return values.stream().map(JsonNode::toString).collect(joining(",", "[", "]"));
+      return JsonWriter.toString(this);
+    }
+
+    private int[] items(Tape tape) {
+      var current = items;
+      if (current == null) {
+        current = tape.items(index);
+        items = current;
+      }
+      return current;
+    }
+
+    private List<JsonNode> values() {
+      var current = values;
+      if (current == null) {
+        current = checkNonNull(tape).values(index);
+        values = current;
+        items = null;
+      }
+      return current;
+    }
+
+    @Serial
+    private void writeObject(ObjectOutputStream output) throws IOException {
+      values();
+      output.defaultWriteObject();
     }
   }
 
@@ -228,15 +286,78 @@ public sealed interface JsonNode extends Serializable {
     @Serial
     private static final long serialVersionUID = -5023192121266472804L;
 
-    private final Map<String, JsonNode> values = new LinkedHashMap<>();
+    // when the object is lazy, fields are found in the tape and created only when they are accessed
+    @Nullable
+    private final transient Tape tape;
+    private final transient int index;
+    // index of the values by name of a big lazy object, built the first time a field is searched
+    @Nullable
+    private transient volatile Map<String, Integer> names;
+
+    @Nullable
+    private volatile Map<String, JsonNode> values;
+
+    public JsonObject() {
+      this.tape = null;
+      this.index = 0;
+      this.values = new LinkedHashMap<>();
+    }
+
+    JsonObject(Tape tape, int index) {
+      this.tape = tape;
+      this.index = index;
+    }
 
     public JsonNode get(String name) {
-      return values.getOrDefault(name, NULL);
+      var value = find(name);
+      return value != null ? value : NULL;
+    }
+
+    /**
+     * @param name
+     * @return the value of the field, or null if the object doesn't have it
+     */
+    @Nullable
+    JsonNode find(String name) {
+      var tape = this.tape;
+      if (values == null && tape != null) {
+        int value = find(tape, name);
+        return value < 0 ? null : tape.node(value);
+      }
+      return values().get(name);
+    }
+
+    /**
+     * Finds the values of the given names, each value is stored in the same position of its name,
+     * and missing fields are left as null. The fields are iterated only once, without creating the
+     * tuples, and lazy objects look for each name in the tape without creating all the fields.
+     *
+     * @param options
+     * @param values
+     */
+    void select(JsonReader.Options options, @Nullable Object[] values) {
+      var tape = this.tape;
+      var current = this.values;
+      if (current == null && tape != null) {
+        for (int i = 0; i < options.size(); i++) {
+          int value = find(tape, options.name(i));
+          if (value >= 0) {
+            values[i] = tape.node(value);
+          }
+        }
+        return;
+      }
+      for (var entry : values().entrySet()) {
+        int i = options.find(entry.getKey());
+        if (i >= 0) {
+          values[i] = entry.getValue();
+        }
+      }
     }
 
     @Override
     public Iterator<Tuple> iterator() {
-      return values.entrySet().stream().map(Tuple::new).iterator();
+      return values().entrySet().stream().map(Tuple::new).iterator();
     }
 
     void add(Tuple tuple) {
@@ -244,7 +365,7 @@ public sealed interface JsonNode extends Serializable {
     }
 
     void add(String name, JsonNode value) {
-      values.put(name, value);
+      values().put(name, value);
     }
 
     @Override
@@ -259,22 +380,49 @@ public sealed interface JsonNode extends Serializable {
 
     @Override
     public int hashCode() {
-      return Objects.hash(values);
+      return Objects.hash(values());
     }
 
     @Override
     public boolean equals(Object obj) {
       if (obj instanceof JsonObject other) {
-        return Objects.equals(this.values, other.values);
+        return Objects.equals(this.values(), other.values());
       }
       return false;
     }
 
     @Override
     public String toString() {
-      return values.entrySet().stream()
-          .map(entry -> "\"" + entry.getKey() + "\":" + entry.getValue())
-          .collect(joining(",", "{", "}"));
+      return JsonWriter.toString(this);
+    }
+
+    private Map<String, JsonNode> values() {
+      var current = values;
+      if (current == null) {
+        current = checkNonNull(tape).fields(index);
+        values = current;
+        names = null;
+      }
+      return current;
+    }
+
+    private int find(Tape tape, String name) {
+      if (tape.size(index) <= Tape.MAX_SCANNED_FIELDS) {
+        return tape.find(index, name);
+      }
+      var current = names;
+      if (current == null) {
+        current = tape.names(index);
+        names = current;
+      }
+      var value = current.get(name);
+      return value != null ? value : -1;
+    }
+
+    @Serial
+    private void writeObject(ObjectOutputStream output) throws IOException {
+      values();
+      output.defaultWriteObject();
     }
   }
 
@@ -301,10 +449,14 @@ public sealed interface JsonNode extends Serializable {
 
     @Override
     public String toString() {
-      return "\"" + value + "\"";
+      return JsonWriter.toString(this);
     }
   }
 
+  /**
+   * Any other number. It's equal to the {@link JsonLong}, {@link JsonDouble} or
+   * {@link JsonRawNumber} with the same value, so it doesn't matter how the number was created.
+   */
   record JsonNumber(Number value) implements JsonNode {
 
     public JsonNumber {
@@ -348,11 +500,17 @@ public sealed interface JsonNode extends Serializable {
 
     @Override
     public BigDecimal asBigDecimal() {
+      if (value instanceof BigInteger integer) {
+        return new BigDecimal(integer);
+      }
       return BigDecimal.valueOf(asDouble());
     }
 
     @Override
     public BigInteger asBigInteger() {
+      if (value instanceof BigInteger integer) {
+        return integer;
+      }
       return BigInteger.valueOf(asLong());
     }
 
@@ -361,13 +519,334 @@ public sealed interface JsonNode extends Serializable {
       return value;
     }
 
+    @Override
+    public boolean equals(Object obj) {
+      if (obj instanceof JsonNumber other) {
+        return normalize().equals(other.normalize());
+      }
+      if (obj instanceof JsonNode node && node.isNumber()) {
+        return normalize().equals(node);
+      }
+      return false;
+    }
+
+    @Override
+    public int hashCode() {
+      return normalize().hashCode();
+    }
+
     @Override
     public String toString() {
-      String string = value.toString();
-      if (string.endsWith(".0")) {
-        return string.substring(0, string.length() - 2);
+      return JsonWriter.format(value);
+    }
+
+    /**
+     * @return the node that would be created for the same value, integral values are a
+     *         {@link JsonLong}, floating point values a {@link JsonDouble}, and bigger values a
+     *         {@link JsonRawNumber}
+     */
+    private JsonNode normalize() {
+      if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+        return new JsonLong(value.longValue());
+      }
+      if (value instanceof Float) {
+        return new JsonDouble(Double.parseDouble(value.toString()));
+      }
+      if (value instanceof BigInteger integer) {
+        return integer.bitLength() < Long.SIZE ? new JsonLong(integer.longValue()) : new JsonRawNumber(integer.toString());
+      }
+      if (value instanceof BigDecimal decimal) {
+        return new JsonRawNumber(decimal.toString());
+      }
+      return new JsonDouble(value.doubleValue());
+    }
+  }
+
+  /**
+   * Integral number that fits in a long, stored without boxing.
+   */
+  record JsonLong(long value) implements JsonNode {
+
+    @Override
+    public boolean isNumber() {
+      return true;
+    }
+
+    @Override
+    public int asInt() {
+      return (int) value;
+    }
+
+    @Override
+    public long asLong() {
+      return value;
+    }
+
+    @Override
+    public float asFloat() {
+      return value;
+    }
+
+    @Override
+    public double asDouble() {
+      return value;
+    }
+
+    @Override
+    public short asShort() {
+      return (short) value;
+    }
+
+    @Override
+    public byte asByte() {
+      return (byte) value;
+    }
+
+    @Override
+    public BigDecimal asBigDecimal() {
+      return BigDecimal.valueOf(value);
+    }
+
+    @Override
+    public BigInteger asBigInteger() {
+      return BigInteger.valueOf(value);
+    }
+
+    @Override
+    public Number asNumber() {
+      return value;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (obj instanceof JsonLong other) {
+        return value == other.value;
+      }
+      if (obj instanceof JsonNumber other) {
+        return other.equals(this);
+      }
+      return false;
+    }
+
+    @Override
+    public int hashCode() {
+      return Long.hashCode(value);
+    }
+
+    @Override
+    public String toString() {
+      return Long.toString(value);
+    }
+  }
+
+  /**
+   * Floating point number stored without boxing.
+   */
+  record JsonDouble(double value) implements JsonNode {
+
+    @Override
+    public boolean isNumber() {
+      return true;
+    }
+
+    @Override
+    public int asInt() {
+      return (int) value;
+    }
+
+    @Override
+    public long asLong() {
+      return (long) value;
+    }
+
+    @Override
+    public float asFloat() {
+      return (float) value;
+    }
+
+    @Override
+    public double asDouble() {
+      return value;
+    }
+
+    @Override
+    public short asShort() {
+      return (short) value;
+    }
+
+    @Override
+    public byte asByte() {
+      return (byte) value;
+    }
+
+    @Override
+    public BigDecimal asBigDecimal() {
+      return BigDecimal.valueOf(value);
+    }
+
+    @Override
+    public BigInteger asBigInteger() {
+      return BigInteger.valueOf(asLong());
+    }
+
+    @Override
+    public Number asNumber() {
+      return value;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (obj instanceof JsonDouble other) {
+        return value == other.value || Double.compare(value, other.value) == 0;
+      }
+      if (obj instanceof JsonRawNumber other) {
+        return Double.isFinite(value) && canonical().equals(other.canonical());
+      }
+      if (obj instanceof JsonNumber other) {
+        return other.equals(this);
+      }
+      return false;
+    }
+
+    @Override
+    public int hashCode() {
+      return Double.isFinite(value) ? canonical().hashCode() : Double.hashCode(value);
+    }
+
+    @Override
+    public String toString() {
+      return JsonWriter.format(value);
+    }
+
+    /**
+     * @return the canonical form of the shortest decimal that represents the value
+     */
+    private String canonical() {
+      return NumberParser.canonical(Double.toString(value));
+    }
+  }
+
+  /**
+   * Number as it appears in the parsed document. It's converted only when the value is requested,
+   * so it never loses precision and numbers that are never read cost nothing.
+   *
+   * <p>Only used for numbers that are not a long. Two raw numbers are equal if they have the same
+   * exact value, whatever the notation, and a raw number is equal to the {@link JsonDouble} whose
+   * shortest decimal representation has the same value, so a parsed tree is equal to the same tree
+   * built with {@link JsonDSL}.
+   */
+  final class JsonRawNumber implements JsonNode {
+
+    @Serial
+    private static final long serialVersionUID = 6105437315434557128L;
+
+    // bigger integers are created only if the text of the number is as long as the value
+    private static final int MAX_INTEGER_DIGITS = 1000;
+
+    private final String value;
+
+    // computed only when the number is compared
+    @Nullable
+    private transient String canonical;
+
+    public JsonRawNumber(String value) {
+      this.value = checkNonNull(value);
+    }
+
+    public String value() {
+      return value;
+    }
+
+    @Override
+    public boolean isNumber() {
+      return true;
+    }
+
+    @Override
+    public int asInt() {
+      return asNumber().intValue();
+    }
+
+    @Override
+    public long asLong() {
+      return asNumber().longValue();
+    }
+
+    @Override
+    public float asFloat() {
+      return Float.parseFloat(value);
+    }
+
+    @Override
+    public double asDouble() {
+      return NumberParser.parseDouble(value);
+    }
+
+    @Override
+    public short asShort() {
+      return asNumber().shortValue();
+    }
+
+    @Override
+    public byte asByte() {
+      return asNumber().byteValue();
+    }
+
+    @Override
+    public BigDecimal asBigDecimal() {
+      return new BigDecimal(value);
+    }
+
+    /**
+     * @throws NumberFormatException if the integral part of the value has many more digits than the
+     *         text of the number, like {@code 1e1000000000}
+     */
+    @Override
+    public BigInteger asBigInteger() {
+      var decimal = asBigDecimal();
+      long digits = (long) decimal.precision() - decimal.scale();
+      if (digits > Math.max(MAX_INTEGER_DIGITS, value.length())) {
+        throw new NumberFormatException("number too big for a big integer: " + value);
+      }
+      return decimal.toBigInteger();
+    }
+
+    @Override
+    public Number asNumber() {
+      return NumberParser.parse(value);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (obj instanceof JsonRawNumber other) {
+        return canonical().equals(other.canonical());
+      }
+      if (obj instanceof JsonDouble other) {
+        return other.equals(this);
+      }
+      if (obj instanceof JsonNumber other) {
+        return other.equals(this);
+      }
+      return false;
+    }
+
+    @Override
+    public int hashCode() {
+      return canonical().hashCode();
+    }
+
+    @Override
+    public String toString() {
+      return value;
+    }
+
+    String canonical() {
+      var current = canonical;
+      if (current == null) {
+        current = NumberParser.canonical(value);
+        canonical = current;
       }
-      return string;
+      return current;
     }
   }
 
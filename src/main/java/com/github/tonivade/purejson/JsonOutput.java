@@ -0,0 +1,33 @@
+/*
+ * Copyright (c) 2020-2026, Antonio Gabriel Muñoz Conejo <me at tonivade dot es>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.purejson;
+
+import java.io.Closeable;
+import java.io.Flushable;
+
+/**
+ * Low level sink of characters used by {@link JsonWriter}.
+ */
+abstract class JsonOutput implements Closeable, Flushable {
+
+  /**
+   * Writes a single ascii character.
+   *
+   * @param c
+   */
+  abstract void write(char c);
+
+  abstract void write(String value, int start, int end);
+
+  final void write(String value) {
+    write(value, 0, value.length());
+  }
+
+  @Override
+  public abstract void flush();
+
+  @Override
+  public abstract void close();
+}
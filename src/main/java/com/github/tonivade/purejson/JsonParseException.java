@@ -0,0 +1,30 @@
+/*
+ * Copyright (c) 2020-2026, Antonio Gabriel Muñoz Conejo <me at tonivade dot es>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.purejson;
+
+import java.io.Serial;
+
+/**
+ * Syntax error found by {@link JsonReader} while reading a json document.
+ */
+public final class JsonParseException extends RuntimeException {
+
+  @Serial
+  private static final long serialVersionUID = 7383529431206312436L;
+
+  private final long offset;
+
+  public JsonParseException(String message, long offset) {
+    super(message + " at offset " + offset);
+    this.offset = offset;
+  }
+
+  /**
+   * @return the position of the input where the error was found
+   */
+  public long getOffset() {
+    return offset;
+  }
+}
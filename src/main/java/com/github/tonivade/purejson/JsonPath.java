@@ -0,0 +1,405 @@
+/*
+ * Copyright (c) 2020-2026, Antonio Gabriel Muñoz Conejo <me at tonivade dot es>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.purejson;
+
+import static com.github.tonivade.purefun.core.Precondition.checkNonNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Compiled query that selects values inside a document. The expression is parsed once and the
+ * query can be evaluated many times, against a tree of {@link JsonNode}s or directly against the
+ * tokens of a {@link JsonReader}. In the second case only the matching values are created, the rest
+ * of the document is skipped without creating names nor values.
+ *
+ * <p>Two syntaxes are supported:
+ * <ul>
+ * <li>JSON Pointer (RFC 6901), like {@code /data/items/0/id}, where each token matches a field with
+ * the same name or, if it's a number, the item of an array with that index.</li>
+ * <li>A subset of JSONPath, like {@code $.data.items[*].id}, with fields {@code .name} or
+ * {@code ['name']}, indexes {@code [0]}, and wildcards {@code .*} or {@code [*]} that match all the
+ * fields of an object or all the items of an array.</li>
+ * </ul>
+ *
+ * <p>Matches are returned in document order. Instances are immutable and thread safe.
+ */
+public final class JsonPath {
+
+  private static final JsonReader.Options NO_NAMES = JsonReader.Options.of();
+
+  private final String expression;
+  private final Step[] steps;
+
+  private JsonPath(String expression, Step[] steps) {
+    this.expression = expression;
+    this.steps = steps;
+  }
+
+  /**
+   * @param expression a JSON Pointer or a JSONPath expression
+   * @return the compiled query
+   * @throws IllegalArgumentException if the expression is not valid
+   */
+  public static JsonPath compile(String expression) {
+    checkNonNull(expression);
+    if (expression.startsWith("$")) {
+      return new JsonPath(expression, new PathParser(expression).parse());
+    }
+    return new JsonPath(expression, pointer(expression));
+  }
+
+  /**
+   * @param root
+   * @return all the values that match the query
+   */
+  public List<JsonNode> select(JsonNode root) {
+    var matches = new ArrayList<JsonNode>();
+    select(checkNonNull(root), 0, matches::add);
+    return matches;
+  }
+
+  /**
+   * Same as {@link #select(JsonNode)} but the matches are decoded, {@code null} values are skipped.
+   *
+   * @param <T>
+   * @param root
+   * @param decoder
+   * @return all the values that match the query
+   */
+  public <T> List<T> select(JsonNode root, JsonDecoder<T> decoder) {
+    checkNonNull(decoder);
+    var matches = new ArrayList<T>();
+    select(checkNonNull(root), 0, json -> {
+      if (!json.isNull()) {
+        var value = decoder.decode(json);
+        if (value != null) {
+          matches.add(value);
+        }
+      }
+    });
+    return matches;
+  }
+
+  /**
+   * Reads the next value of the reader and returns the values that match the query. Only the
+   * matching values are created.
+   *
+   * @param reader
+   * @return all the values that match the query
+   */
+  public List<JsonNode> select(JsonReader reader) {
+    var matches = new ArrayList<JsonNode>();
+    select(checkNonNull(reader), 0, JsonReader::nextNode, matches::add);
+    return matches;
+  }
+
+  /**
+   * Same as {@link #select(JsonReader)} but the matches are decoded directly from the tokens of the
+   * reader, {@code null} values are skipped.
+   *
+   * @param <T>
+   * @param reader
+   * @param decoder
+   * @return all the values that match the query
+   */
+  public <T> List<T> select(JsonReader reader, JsonDecoder<T> decoder) {
+    var matches = new ArrayList<T>();
+    select(reader, decoder, matches::add);
+    return matches;
+  }
+
+  /**
+   * Reads the next value of the reader and sends each match to the consumer as soon as it's
+   * decoded, so the matches are not retained. {@code null} values are skipped.
+   *
+   * @param <T>
+   * @param reader
+   * @param decoder
+   * @param consumer
+   */
+  public <T> void select(JsonReader reader, JsonDecoder<T> decoder, Consumer<? super T> consumer) {
+    checkNonNull(decoder);
+    checkNonNull(consumer);
+    select(checkNonNull(reader), 0, input -> {
+      if (input.peek() == JsonReader.Token.NULL) {
+        input.nextNull();
+        return null;
+      }
+      return decoder.decode(input);
+    }, consumer);
+  }
+
+  @Override
+  public String toString() {
+    return expression;
+  }
+
+  private void select(JsonNode node, int step, Consumer<JsonNode> consumer) {
+    if (step == steps.length) {
+      consumer.accept(node);
+      return;
+    }
+    var current = steps[step];
+    if (node instanceof JsonNode.JsonObject object) {
+      var name = current.name();
+      if (current instanceof Wildcard) {
+        for (var tuple : object) {
+          select(tuple.value(), step + 1, consumer);
+        }
+      } else if (name != null) {
+        var value = object.find(name);
+        if (value != null) {
+          select(value, step + 1, consumer);
+        }
+      }
+    } else if (node instanceof JsonNode.JsonArray array) {
+      if (current instanceof Wildcard) {
+        for (int i = 0; i < array.size(); i++) {
+          select(array.get(i), step + 1, consumer);
+        }
+      } else if (current.index() >= 0 && current.index() < array.size()) {
+        select(array.get(current.index()), step + 1, consumer);
+      }
+    }
+  }
+
+  private <T> void select(JsonReader reader, int step, Decoder<T> decoder, Consumer<? super T> consumer) {
+    if (step == steps.length) {
+      var value = decoder.decode(reader);
+      if (value != null) {
+        consumer.accept(value);
+      }
+      return;
+    }
+    var current = steps[step];
+    switch (reader.peek()) {
+      case BEGIN_OBJECT -> {
+        reader.beginObject();
+        var options = current.names();
+        boolean wildcard = current instanceof Wildcard;
+        while (reader.hasNext()) {
+          if (reader.selectName(options) == 0 || wildcard) {
+            select(reader, step + 1, decoder, consumer);
+          } else {
+            reader.skipValue();
+          }
+        }
+        reader.endObject();
+      }
+      case BEGIN_ARRAY -> {
+        reader.beginArray();
+        boolean wildcard = current instanceof Wildcard;
+        for (int i = 0; reader.hasNext(); i++) {
+          if (i == current.index() || wildcard) {
+            select(reader, step + 1, decoder, consumer);
+          } else {
+            reader.skipValue();
+          }
+        }
+        reader.endArray();
+      }
+      default -> reader.skipValue();
+    }
+  }
+
+  private static Step[] pointer(String expression) {
+    if (expression.isEmpty()) {
+      return new Step[0];
+    }
+    if (expression.charAt(0) != '/') {
+      throw invalid(expression, 0);
+    }
+    var steps = new ArrayList<Step>();
+    int start = 1;
+    while (true) {
+      int end = expression.indexOf('/', start);
+      var token = unescape(expression, start, end < 0 ? expression.length() : end);
+      steps.add(new Token(token, index(token), JsonReader.Options.of(token)));
+      if (end < 0) {
+        return steps.toArray(Step[]::new);
+      }
+      start = end + 1;
+    }
+  }
+
+  private static String unescape(String expression, int start, int end) {
+    var token = new StringBuilder(end - start);
+    for (int i = start; i < end; i++) {
+      char c = expression.charAt(i);
+      if (c == '~') {
+        char next = i + 1 < end ? expression.charAt(++i) : 0;
+        if (next == '0') {
+          token.append('~');
+        } else if (next == '1') {
+          token.append('/');
+        } else {
+          throw invalid(expression, i);
+        }
+      } else {
+        token.append(c);
+      }
+    }
+    return token.toString();
+  }
+
+  /**
+   * @param token
+   * @return the token as an index of an array, or -1 if it's not a valid index
+   */
+  private static int index(String token) {
+    if (token.isEmpty() || token.length() > 9 || (token.charAt(0) == '0' && token.length() > 1)) {
+      return -1;
+    }
+    int index = 0;
+    for (int i = 0; i < token.length(); i++) {
+      char c = token.charAt(i);
+      if (c < '0' || c > '9') {
+        return -1;
+      }
+      index = index * 10 + (c - '0');
+    }
+    return index;
+  }
+
+  private static IllegalArgumentException invalid(String expression, int position) {
+    return new IllegalArgumentException("invalid path at position " + position + ": " + expression);
+  }
+
+  @FunctionalInterface
+  private interface Decoder<T> {
+    @Nullable
+    T decode(JsonReader reader);
+  }
+
+  /**
+   * A step of the query, it matches a field of an object, an item of an array, or both.
+   */
+  private sealed interface Step {
+
+    @Nullable
+    default String name() {
+      return null;
+    }
+
+    default int index() {
+      return -1;
+    }
+
+    /**
+     * @return the names used to find the field in the reader, the matching name is always the first
+     */
+    default JsonReader.Options names() {
+      return NO_NAMES;
+    }
+  }
+
+  private record Field(String name, JsonReader.Options names) implements Step { }
+
+  private record Item(int index) implements Step { }
+
+  private record Token(String name, int index, JsonReader.Options names) implements Step { }
+
+  private record Wildcard() implements Step { }
+
+  /**
+   * Parser of the supported subset of JSONPath.
+   */
+  private static final class PathParser {
+
+    private final String expression;
+    private int position = 1;
+
+    PathParser(String expression) {
+      this.expression = expression;
+    }
+
+    Step[] parse() {
+      var steps = new ArrayList<Step>();
+      while (position < expression.length()) {
+        char c = expression.charAt(position++);
+        if (c == '.') {
+          steps.add(dot());
+        } else if (c == '[') {
+          steps.add(bracket());
+        } else {
+          throw invalid(expression, position - 1);
+        }
+      }
+      return steps.toArray(Step[]::new);
+    }
+
+    private Step dot() {
+      if (position < expression.length() && expression.charAt(position) == '*') {
+        position++;
+        return new Wildcard();
+      }
+      int start = position;
+      while (position < expression.length()) {
+        char c = expression.charAt(position);
+        if (c == '.' || c == '[') {
+          break;
+        }
+        position++;
+      }
+      if (position == start) {
+        throw invalid(expression, start);
+      }
+      return field(expression.substring(start, position));
+    }
+
+    private Step bracket() {
+      if (position >= expression.length()) {
+        throw invalid(expression, position);
+      }
+      char c = expression.charAt(position);
+      Step step;
+      if (c == '*') {
+        position++;
+        step = new Wildcard();
+      } else if (c == '\'' || c == '"') {
+        position++;
+        step = field(quoted(c));
+      } else {
+        int start = position;
+        while (position < expression.length() && expression.charAt(position) != ']') {
+          position++;
+        }
+        int index = index(expression.substring(start, position));
+        if (index < 0) {
+          throw invalid(expression, start);
+        }
+        step = new Item(index);
+      }
+      if (position >= expression.length() || expression.charAt(position) != ']') {
+        throw invalid(expression, position);
+      }
+      position++;
+      return step;
+    }
+
+    private String quoted(char quote) {
+      var name = new StringBuilder();
+      while (position < expression.length()) {
+        char c = expression.charAt(position++);
+        if (c == quote) {
+          return name.toString();
+        }
+        if (c == '\\' && position < expression.length()) {
+          c = expression.charAt(position++);
+        }
+        name.append(c);
+      }
+      throw invalid(expression, position);
+    }
+
+    private static Step field(String name) {
+      return new Field(name, JsonReader.Options.of(name));
+    }
+  }
+}
@@ -0,0 +1,751 @@
+/*
+ * Copyright (c) 2020-2026, Antonio Gabriel Muñoz Conejo <me at tonivade dot es>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.purejson;
+
+import java.io.Closeable;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Pull parser that reads a json document token by token, without building a tree of
+ * {@link JsonNode}s. It is used by {@link JsonDecoder#decode(JsonReader)} to decode values directly
+ * from the input.
+ *
+ * <p>Syntax errors are reported with a {@link JsonParseException}, and trying to consume a token of
+ * a different type than the next one throws an {@link IllegalStateException}.
+ *
+ * <p>When it's created from a {@link Reader} or an {@link InputStream} only a fixed size buffer is
+ * kept in memory, plus the content of the current token, so documents of any size can be
+ * processed as long as the values are consumed as they are read.
+ */
+public final class JsonReader implements Closeable {
+
+  public enum Token {
+    BEGIN_ARRAY,
+    END_ARRAY,
+    BEGIN_OBJECT,
+    END_OBJECT,
+    NAME,
+    STRING,
+    NUMBER,
+    BOOLEAN,
+    NULL,
+    END_DOCUMENT
+  }
+
+  /**
+   * Precomputed set of names, used by {@link JsonReader#selectName(Options)} to find the next name
+   * comparing it directly with the content of the input, without creating a string.
+   *
+   * <p>The names are placed in a table using a perfect hash of their hash codes, the multiplier of
+   * the hash is searched when the options are created, so usually a name is found checking only
+   * one slot. If a perfect hash is not found, for example if two names have the same hash code,
+   * colliding names are placed in the next free slots.
+   */
+  public static final class Options {
+
+    private static final int ATTEMPTS = 64;
+    private static final int GROWTHS = 3;
+
+    private final String[] names;
+    // index + 1 of the name in each slot, 0 means empty
+    private final int[] table;
+    private final int multiplier;
+    private final int shift;
+
+    private Options(String[] names) {
+      for (int i = 0; i < names.length; i++) {
+        // same instances as the names created by the parser
+        names[i] = KeyCache.get(names[i]);
+      }
+      this.names = names;
+      int bits = 32 - Integer.numberOfLeadingZeros(Math.max(names.length, 1) * 2);
+      int bestBits = bits;
+      int bestMultiplier = 0;
+      int bestCollisions = Integer.MAX_VALUE;
+      search: for (int growth = 0; growth < GROWTHS; growth++, bits++) {
+        for (int attempt = 0; attempt < ATTEMPTS; attempt++) {
+          // odd multipliers spread by the golden ratio
+          int candidate = 0x9E3779B9 * (2 * attempt + 1);
+          int collisions = fill(names, new int[1 << bits], candidate, 32 - bits);
+          if (collisions < bestCollisions) {
+            bestBits = bits;
+            bestMultiplier = candidate;
+            bestCollisions = collisions;
+          }
+          if (collisions == 0) {
+            break search;
+          }
+        }
+      }
+      this.table = new int[1 << bestBits];
+      this.multiplier = bestMultiplier;
+      this.shift = 32 - bestBits;
+      fill(names, table, multiplier, shift);
+    }
+
+    public static Options of(String... names) {
+      return new Options(names.clone());
+    }
+
+    public static Options of(List<String> names) {
+      return new Options(names.toArray(String[]::new));
+    }
+
+    public int size() {
+      return names.length;
+    }
+
+    public String name(int index) {
+      return names[index];
+    }
+
+    int find(String name) {
+      int slot = slot(name.hashCode());
+      while (table[slot] != 0) {
+        int index = table[slot] - 1;
+        if (names[index].equals(name)) {
+          return index;
+        }
+        slot = (slot + 1) & (table.length - 1);
+      }
+      return -1;
+    }
+
+    int find(char[] buffer, int start, int end) {
+      int hash = 0;
+      for (int i = start; i < end; i++) {
+        hash = 31 * hash + buffer[i];
+      }
+      int slot = slot(hash);
+      while (table[slot] != 0) {
+        int index = table[slot] - 1;
+        if (matches(names[index], buffer, start, end)) {
+          return index;
+        }
+        slot = (slot + 1) & (table.length - 1);
+      }
+      return -1;
+    }
+
+    int find(String source, int start, int end) {
+      int hash = 0;
+      for (int i = start; i < end; i++) {
+        hash = 31 * hash + source.charAt(i);
+      }
+      int slot = slot(hash);
+      while (table[slot] != 0) {
+        int index = table[slot] - 1;
+        var name = names[index];
+        if (name.length() == end - start && source.regionMatches(start, name, 0, name.length())) {
+          return index;
+        }
+        slot = (slot + 1) & (table.length - 1);
+      }
+      return -1;
+    }
+
+    /**
+     * @return the index of the name, -1 if not found, or -2 if the name is not ascii and it cannot
+     *         be compared directly
+     */
+    int find(byte[] buffer, int start, int end) {
+      int hash = 0;
+      for (int i = start; i < end; i++) {
+        byte b = buffer[i];
+        if (b < 0) {
+          return -2;
+        }
+        hash = 31 * hash + b;
+      }
+      int slot = slot(hash);
+      while (table[slot] != 0) {
+        int index = table[slot] - 1;
+        if (matches(names[index], buffer, start, end)) {
+          return index;
+        }
+        slot = (slot + 1) & (table.length - 1);
+      }
+      return -1;
+    }
+
+    private int slot(int hash) {
+      return slot(hash, multiplier, shift);
+    }
+
+    /**
+     * @return the number of names that are not in its own slot
+     */
+    private static int fill(String[] names, int[] table, int multiplier, int shift) {
+      int collisions = 0;
+      for (int i = 0; i < names.length; i++) {
+        int slot = slot(names[i].hashCode(), multiplier, shift);
+        if (table[slot] != 0) {
+          collisions++;
+        }
+        while (table[slot] != 0) {
+          if (names[table[slot] - 1].equals(names[i])) {
+            throw new IllegalArgumentException("duplicated name: " + names[i]);
+          }
+          slot = (slot + 1) & (table.length - 1);
+        }
+        table[slot] = i + 1;
+      }
+      return collisions;
+    }
+
+    private static int slot(int hash, int multiplier, int shift) {
+      return (hash * multiplier) >>> shift;
+    }
+
+    private static boolean matches(String name, char[] buffer, int start, int end) {
+      if (name.length() != end - start) {
+        return false;
+      }
+      for (int i = start; i < end; i++) {
+        if (name.charAt(i - start) != buffer[i]) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    private static boolean matches(String name, byte[] buffer, int start, int end) {
+      if (name.length() != end - start) {
+        return false;
+      }
+      for (int i = start; i < end; i++) {
+        if (name.charAt(i - start) != buffer[i]) {
+          return false;
+        }
+      }
+      return true;
+    }
+  }
+
+  private static final int EMPTY_DOCUMENT = 0;
+  private static final int NONEMPTY_DOCUMENT = 1;
+  private static final int EMPTY_ARRAY = 2;
+  private static final int NONEMPTY_ARRAY = 3;
+  private static final int EMPTY_OBJECT = 4;
+  private static final int DANGLING_NAME = 5;
+  private static final int NONEMPTY_OBJECT = 6;
+
+  private static final Object[] NO_ITEMS = new Object[0];
+  private static final int INITIAL_ITEMS = 16;
+
+  private final JsonInput input;
+
+  private int[] scopes = new int[32];
+  private int depth = 1;
+
+  // decoded items of the arrays that are being decoded, the items of a nested array are stacked
+  // over the items of the outer arrays
+  private Object[] items = NO_ITEMS;
+  private int itemCount;
+
+  @Nullable
+  private Token peeked;
+  @Nullable
+  private String text;
+
+  public JsonReader(String json) {
+    this(new StringInput(json));
+  }
+
+  /**
+   * Creates a reader that keeps only a fixed size buffer of the input in memory.
+   *
+   * @param reader
+   */
+  public JsonReader(Reader reader) {
+    this(new CharInput(reader));
+  }
+
+  /**
+   * Creates a reader of an UTF-8 encoded document. The bytes are read in place, without any copy.
+   *
+   * @param json
+   */
+  public JsonReader(byte[] json) {
+    this(new Utf8Input(json));
+  }
+
+  /**
+   * Creates a reader of the remaining bytes of an UTF-8 encoded buffer. The position of the buffer
+   * is not modified.
+   *
+   * @param json
+   */
+  public JsonReader(ByteBuffer json) {
+    this(Utf8Input.of(json));
+  }
+
+  /**
+   * Creates a reader of an UTF-8 encoded stream that keeps only a fixed size buffer of the input in
+   * memory.
+   *
+   * @param json
+   */
+  public JsonReader(InputStream json) {
+    this(new Utf8Input(json));
+  }
+
+  JsonReader(JsonInput input) {
+    this.input = input;
+    this.scopes[0] = EMPTY_DOCUMENT;
+  }
+
+  /**
+   * @return the type of the next token without consuming it
+   */
+  public Token peek() {
+    var token = peeked;
+    if (token == null) {
+      token = doPeek();
+      peeked = token;
+    }
+    return token;
+  }
+
+  /**
+   * Consumes the next token, whatever it is. The content of names and values is available using
+   * {@link #getText()} until this method is called again.
+   *
+   * @return the type of the consumed token
+   */
+  public Token nextToken() {
+    var token = peek();
+    text = switch (token) {
+      case BEGIN_ARRAY -> {
+        beginArray();
+        yield null;
+      }
+      case END_ARRAY -> {
+        endArray();
+        yield null;
+      }
+      case BEGIN_OBJECT -> {
+        beginObject();
+        yield null;
+      }
+      case END_OBJECT -> {
+        endObject();
+        yield null;
+      }
+      case NAME -> nextName();
+      case STRING -> nextString();
+      case NUMBER -> nextNumber();
+      case BOOLEAN -> String.valueOf(nextBoolean());
+      case NULL -> {
+        nextNull();
+        yield null;
+      }
+      case END_DOCUMENT -> null;
+    };
+    return token;
+  }
+
+  /**
+   * @return the content of the last token consumed by {@link #nextToken()}, or null if it was a
+   *         structural token or a null value
+   */
+  @Nullable
+  public String getText() {
+    return text;
+  }
+
+  /**
+   * @return true if the current array or object has more elements
+   */
+  public boolean hasNext() {
+    var token = peek();
+    return token != Token.END_OBJECT && token != Token.END_ARRAY && token != Token.END_DOCUMENT;
+  }
+
+  public void beginArray() {
+    consume(Token.BEGIN_ARRAY);
+    push(EMPTY_ARRAY);
+  }
+
+  public void endArray() {
+    consume(Token.END_ARRAY);
+    depth--;
+  }
+
+  public void beginObject() {
+    consume(Token.BEGIN_OBJECT);
+    push(EMPTY_OBJECT);
+  }
+
+  public void endObject() {
+    consume(Token.END_OBJECT);
+    depth--;
+  }
+
+  public String nextName() {
+    consume(Token.NAME);
+    return input.readName();
+  }
+
+  /**
+   * Reads the next name and finds it in the given options. If the name can be compared directly with
+   * the content of the input no string is created, so unknown names are skipped without any
+   * allocation.
+   *
+   * @param options
+   * @return the index of the name in the options, or -1 if it's not one of them
+   */
+  public int selectName(Options options) {
+    consume(Token.NAME);
+    return input.selectName(options);
+  }
+
+  /**
+   * Same as {@link #selectName(Options)} but the next value should be a string. It's useful to
+   * decode values from a closed set, like the constants of an enum.
+   *
+   * @param options
+   * @return the index of the string in the options, or -1 if it's not one of the options
+   */
+  public int selectString(Options options) {
+    consume(Token.STRING);
+    return input.selectName(options);
+  }
+
+  public String nextString() {
+    consume(Token.STRING);
+    return input.readString();
+  }
+
+  public boolean nextBoolean() {
+    consume(Token.BOOLEAN);
+    if (input.peek() == 't') {
+      input.expect("true");
+      return true;
+    }
+    input.expect("false");
+    return false;
+  }
+
+  public void nextNull() {
+    consume(Token.NULL);
+    input.expect("null");
+  }
+
+  /**
+   * @return the next number as it appears in the input
+   */
+  public String nextNumber() {
+    consume(Token.NUMBER);
+    return input.readNumber();
+  }
+
+  /**
+   * Reads the next number as a long. Numbers with a fractional part or an exponent are accepted
+   * only if the value is integral.
+   *
+   * @return the next number
+   * @throws NumberFormatException if the number is not integral or does not fit in a long
+   */
+  public long nextLong() {
+    var number = nextNumber();
+    if (NumberParser.isLong(number)) {
+      return Long.parseLong(number);
+    }
+    var value = NumberParser.parse(number);
+    if (value instanceof Long result) {
+      return result;
+    }
+    if (value instanceof Double d) {
+      long result = d.longValue();
+      if (result == d && d < 0x1p63) {
+        return result;
+      }
+    }
+    throw new NumberFormatException("expected a long but was " + number);
+  }
+
+  /**
+   * Same as {@link #nextLong()} but the number should fit in an int.
+   *
+   * @return the next number
+   * @throws NumberFormatException if the number is not integral or does not fit in an int
+   */
+  public int nextInt() {
+    long value = nextLong();
+    if (value != (int) value) {
+      throw new NumberFormatException("expected an int but was " + value);
+    }
+    return (int) value;
+  }
+
+  public double nextDouble() {
+    return NumberParser.parseDouble(nextNumber());
+  }
+
+  /**
+   * Skips the next value, including all the nested values if it's an array or an object. If the
+   * next token is a name, only the name is skipped. No values are created for the skipped tokens.
+   */
+  public void skipValue() {
+    int count = 0;
+    do {
+      var token = peek();
+      switch (token) {
+        case BEGIN_ARRAY -> {
+          beginArray();
+          count++;
+        }
+        case BEGIN_OBJECT -> {
+          beginObject();
+          count++;
+        }
+        case END_ARRAY -> {
+          endArray();
+          count--;
+        }
+        case END_OBJECT -> {
+          endObject();
+          count--;
+        }
+        case NAME, STRING -> {
+          peeked = null;
+          input.skipString();
+        }
+        case NUMBER -> {
+          peeked = null;
+          input.skipNumber();
+        }
+        case BOOLEAN -> nextBoolean();
+        case NULL -> nextNull();
+        case END_DOCUMENT -> throw new IllegalStateException("no value to skip");
+      }
+      if (count < 0) {
+        throw new IllegalStateException("no value to skip");
+      }
+    } while (count > 0);
+  }
+
+  /**
+   * Reads the next value as a tree.
+   *
+   * @return the next value
+   */
+  public JsonNode nextNode() {
+    var token = peek();
+    return switch (token) {
+      case BEGIN_ARRAY -> {
+        var array = new JsonNode.JsonArray();
+        beginArray();
+        while (hasNext()) {
+          array.add(nextNode());
+        }
+        endArray();
+        yield array;
+      }
+      case BEGIN_OBJECT -> {
+        var object = new JsonNode.JsonObject();
+        beginObject();
+        while (hasNext()) {
+          var name = nextName();
+          object.add(name, nextNode());
+        }
+        endObject();
+        yield object;
+      }
+      case STRING -> new JsonNode.JsonString(nextString());
+      case NUMBER -> PureJsonHandler.number(nextNumber());
+      case BOOLEAN -> nextBoolean() ? JsonNode.TRUE : JsonNode.FALSE;
+      case NULL -> {
+        nextNull();
+        yield JsonNode.NULL;
+      }
+      case END_ARRAY, END_OBJECT, NAME, END_DOCUMENT ->
+        throw new IllegalStateException("expected a value but was " + token);
+    };
+  }
+
+  @Override
+  public void close() {
+    input.close();
+  }
+
+  /**
+   * Checks that there's no more content after the last value of the document.
+   */
+  void endDocument() {
+    consume(Token.END_DOCUMENT);
+  }
+
+  /**
+   * Starts a new document at the current position of the input, so several documents can be read
+   * from the same input.
+   */
+  void reset() {
+    depth = 1;
+    scopes[0] = EMPTY_DOCUMENT;
+    peeked = null;
+    Arrays.fill(items, 0, itemCount, null);
+    itemCount = 0;
+  }
+
+  /**
+   * The items of an array are added to a stack that is reused for all the arrays of the document,
+   * so the number of items is known before the collection is created.
+   *
+   * @return the position of the first item of a new array
+   */
+  int itemsMark() {
+    return itemCount;
+  }
+
+  void addItem(@Nullable Object item) {
+    if (itemCount == items.length) {
+      items = Arrays.copyOf(items, Math.max(INITIAL_ITEMS, itemCount * 2));
+    }
+    items[itemCount++] = item;
+  }
+
+  /**
+   * Removes the items added after the given mark, each item is sent to the consumer in the same
+   * order they were added.
+   *
+   * @param mark
+   * @param consumer
+   */
+  void removeItems(int mark, Consumer<@Nullable Object> consumer) {
+    for (int i = mark; i < itemCount; i++) {
+      consumer.accept(items[i]);
+      items[i] = null;
+    }
+    itemCount = mark;
+  }
+
+  /**
+   * Same as {@link #removeItems(int, Consumer)} but the items are copied to the given array, that
+   * should have the right size.
+   *
+   * @param mark
+   * @param target
+   */
+  void removeItems(int mark, Object[] target) {
+    System.arraycopy(items, mark, target, 0, itemCount - mark);
+    Arrays.fill(items, mark, itemCount, null);
+    itemCount = mark;
+  }
+
+  private void consume(Token expected) {
+    var token = peek();
+    if (token != expected) {
+      throw new IllegalStateException("expected " + expected + " but was " + token);
+    }
+    peeked = null;
+  }
+
+  private void push(int scope) {
+    if (depth == scopes.length) {
+      scopes = Arrays.copyOf(scopes, depth * 2);
+    }
+    scopes[depth++] = scope;
+  }
+
+  private Token doPeek() {
+    int scope = scopes[depth - 1];
+    switch (scope) {
+      case EMPTY_ARRAY -> {
+        scopes[depth - 1] = NONEMPTY_ARRAY;
+        if (input.peekNonWhitespace() == ']') {
+          input.skip();
+          return Token.END_ARRAY;
+        }
+      }
+      case NONEMPTY_ARRAY -> {
+        int c = nextNonWhitespace();
+        if (c == ']') {
+          return Token.END_ARRAY;
+        }
+        if (c != ',') {
+          throw input.syntaxError("expected ',' or ']'");
+        }
+      }
+      case EMPTY_OBJECT, NONEMPTY_OBJECT -> {
+        scopes[depth - 1] = DANGLING_NAME;
+        int c = nextNonWhitespace();
+        if (scope == NONEMPTY_OBJECT) {
+          if (c == '}') {
+            return Token.END_OBJECT;
+          }
+          if (c != ',') {
+            throw input.syntaxError("expected ',' or '}'");
+          }
+          c = nextNonWhitespace();
+        } else if (c == '}') {
+          return Token.END_OBJECT;
+        }
+        if (c != '"') {
+          throw input.syntaxError("expected name");
+        }
+        return Token.NAME;
+      }
+      case DANGLING_NAME -> {
+        scopes[depth - 1] = NONEMPTY_OBJECT;
+        if (nextNonWhitespace() != ':') {
+          throw input.syntaxError("expected ':'");
+        }
+      }
+      case EMPTY_DOCUMENT -> scopes[depth - 1] = NONEMPTY_DOCUMENT;
+      case NONEMPTY_DOCUMENT -> {
+        if (input.peekNonWhitespace() == -1) {
+          return Token.END_DOCUMENT;
+        }
+        throw input.syntaxError("unexpected content after end of document");
+      }
+      default -> throw new IllegalStateException("invalid scope " + scope);
+    }
+    return peekValue();
+  }
+
+  private Token peekValue() {
+    int c = input.peekNonWhitespace();
+    switch (c) {
+      case '{' -> {
+        input.skip();
+        return Token.BEGIN_OBJECT;
+      }
+      case '[' -> {
+        input.skip();
+        return Token.BEGIN_ARRAY;
+      }
+      case '"' -> {
+        input.skip();
+        return Token.STRING;
+      }
+      case 't', 'f' -> {
+        return Token.BOOLEAN;
+      }
+      case 'n' -> {
+        return Token.NULL;
+      }
+      case '-', '0', '1', '2', '3', '4', '5', '6', '7', '8', '9' -> {
+        return Token.NUMBER;
+      }
+      case -1 -> throw input.syntaxError("unexpected end of input");
+      default -> throw input.syntaxError("unexpected character '" + (char) c + "'");
+    }
+  }
+
+  private int nextNonWhitespace() {
+    int c = input.peekNonWhitespace();
+    input.skip();
+    return c;
+  }
+}
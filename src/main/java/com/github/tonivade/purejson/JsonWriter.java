@@ -0,0 +1,329 @@
+/*
+ * Copyright (c) 2020-2026, Antonio Gabriel Muñoz Conejo <me at tonivade dot es>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.purejson;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Streaming writer that emits a json document token by token directly into a sink, without
+ * building a tree of {@link JsonNode}s. It is used by {@link JsonEncoder#encode(Object, JsonWriter)}.
+ *
+ * <p>Output is buffered, so {@link #flush()} or {@link #close()} must be called when the document
+ * is completed.
+ */
+public final class JsonWriter implements Closeable, Flushable {
+
+  private static final int EMPTY_DOCUMENT = 0;
+  private static final int NONEMPTY_DOCUMENT = 1;
+  private static final int EMPTY_ARRAY = 2;
+  private static final int NONEMPTY_ARRAY = 3;
+  private static final int EMPTY_OBJECT = 4;
+  private static final int DANGLING_NAME = 5;
+  private static final int NONEMPTY_OBJECT = 6;
+
+  private static final String[] ESCAPES = new String[0x80];
+
+  static {
+    for (int i = 0; i < 0x20; i++) {
+      ESCAPES[i] = "\\u%04x".formatted(i);
+    }
+    ESCAPES['"'] = "\\\"";
+    ESCAPES['\\'] = "\\\\";
+    ESCAPES['\b'] = "\\b";
+    ESCAPES['\f'] = "\\f";
+    ESCAPES['\n'] = "\\n";
+    ESCAPES['\r'] = "\\r";
+    ESCAPES['\t'] = "\\t";
+  }
+
+  private static final char[] BASE64 =
+      "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/".toCharArray();
+
+  private final JsonOutput output;
+
+  private int[] scopes = new int[32];
+  private int depth = 1;
+
+  public JsonWriter(Writer writer) {
+    this(new CharOutput(writer));
+  }
+
+  /**
+   * Creates a writer that encodes the document as UTF-8.
+   *
+   * @param output
+   */
+  public JsonWriter(OutputStream output) {
+    this(new Utf8Output(output));
+  }
+
+  /**
+   * Creates a writer that encodes the document as UTF-8. If the buffer has not enough space
+   * a {@link java.nio.BufferOverflowException} is thrown.
+   *
+   * @param buffer
+   */
+  public JsonWriter(ByteBuffer buffer) {
+    this(new Utf8Output(buffer));
+  }
+
+  JsonWriter(JsonOutput output) {
+    this.output = output;
+    this.scopes[0] = EMPTY_DOCUMENT;
+  }
+
+  public JsonWriter beginArray() {
+    beforeValue();
+    push(EMPTY_ARRAY);
+    output.write('[');
+    return this;
+  }
+
+  public JsonWriter endArray() {
+    pop(EMPTY_ARRAY, NONEMPTY_ARRAY);
+    output.write(']');
+    return this;
+  }
+
+  public JsonWriter beginObject() {
+    beforeValue();
+    push(EMPTY_OBJECT);
+    output.write('{');
+    return this;
+  }
+
+  public JsonWriter endObject() {
+    pop(EMPTY_OBJECT, NONEMPTY_OBJECT);
+    output.write('}');
+    return this;
+  }
+
+  public JsonWriter name(String name) {
+    int scope = scopes[depth - 1];
+    if (scope == NONEMPTY_OBJECT) {
+      output.write(',');
+    } else if (scope != EMPTY_OBJECT) {
+      throw new IllegalStateException("name not expected here: " + name);
+    }
+    scopes[depth - 1] = DANGLING_NAME;
+    writeString(name);
+    output.write(':');
+    return this;
+  }
+
+  public JsonWriter value(String value) {
+    beforeValue();
+    writeString(value);
+    return this;
+  }
+
+  public JsonWriter value(boolean value) {
+    beforeValue();
+    output.write(value ? "true" : "false");
+    return this;
+  }
+
+  public JsonWriter value(long value) {
+    beforeValue();
+    output.write(Long.toString(value));
+    return this;
+  }
+
+  public JsonWriter value(float value) {
+    beforeValue();
+    output.write(format(value));
+    return this;
+  }
+
+  public JsonWriter value(double value) {
+    beforeValue();
+    output.write(format(value));
+    return this;
+  }
+
+  public JsonWriter value(Number value) {
+    beforeValue();
+    output.write(format(value));
+    return this;
+  }
+
+  /**
+   * Writes the bytes as a Base64 string (RFC 4648). The bytes are encoded directly into the output,
+   * without creating the whole string.
+   *
+   * @param value
+   * @return
+   */
+  public JsonWriter base64(byte[] value) {
+    beforeValue();
+    output.write('"');
+    int length = value.length - value.length % 3;
+    for (int i = 0; i < length; i += 3) {
+      int bits = (value[i] & 0xff) << 16 | (value[i + 1] & 0xff) << 8 | (value[i + 2] & 0xff);
+      output.write(BASE64[bits >>> 18]);
+      output.write(BASE64[(bits >>> 12) & 0x3f]);
+      output.write(BASE64[(bits >>> 6) & 0x3f]);
+      output.write(BASE64[bits & 0x3f]);
+    }
+    if (length < value.length) {
+      int bits = (value[length] & 0xff) << 16;
+      boolean two = length + 1 < value.length;
+      if (two) {
+        bits |= (value[length + 1] & 0xff) << 8;
+      }
+      output.write(BASE64[bits >>> 18]);
+      output.write(BASE64[(bits >>> 12) & 0x3f]);
+      output.write(two ? BASE64[(bits >>> 6) & 0x3f] : '=');
+      output.write('=');
+    }
+    output.write('"');
+    return this;
+  }
+
+  public JsonWriter nullValue() {
+    beforeValue();
+    output.write("null");
+    return this;
+  }
+
+  /**
+   * Writes a value that is already encoded, like a string with its quotes and its escapes.
+   *
+   * @param json
+   * @return
+   */
+  JsonWriter rawValue(String json) {
+    beforeValue();
+    output.write(json);
+    return this;
+  }
+
+  /**
+   * Writes the whole tree of the given node.
+   *
+   * @param node
+   * @return
+   */
+  public JsonWriter value(JsonNode node) {
+    if (node instanceof JsonNode.JsonObject object) {
+      beginObject();
+      for (var entry : object) {
+        name(entry.key());
+        value(entry.value());
+      }
+      return endObject();
+    }
+    if (node instanceof JsonNode.JsonArray array) {
+      beginArray();
+      for (var item : array) {
+        value(item);
+      }
+      return endArray();
+    }
+    if (node instanceof JsonNode.JsonString string) {
+      return value(string.value());
+    }
+    if (node instanceof JsonNode.JsonLong number) {
+      return value(number.value());
+    }
+    if (node instanceof JsonNode.JsonDouble number) {
+      return value(number.value());
+    }
+    if (node instanceof JsonNode.JsonRawNumber number) {
+      beforeValue();
+      output.write(number.value());
+      return this;
+    }
+    if (node instanceof JsonNode.JsonNumber number) {
+      return value(number.value());
+    }
+    if (node instanceof JsonNode.JsonBoolean) {
+      return value(node.asBoolean());
+    }
+    return nullValue();
+  }
+
+  @Override
+  public void flush() {
+    output.flush();
+  }
+
+  @Override
+  public void close() {
+    output.close();
+  }
+
+  static String toString(JsonNode node) {
+    var output = new StringOutput(new StringBuilder());
+    new JsonWriter(output).value(node);
+    return output.toString();
+  }
+
+  static String format(float value) {
+    return format(Float.toString(value));
+  }
+
+  static String format(double value) {
+    return format(Double.toString(value));
+  }
+
+  static String format(Number value) {
+    return format(value.toString());
+  }
+
+  private static String format(String string) {
+    if (string.endsWith(".0")) {
+      return string.substring(0, string.length() - 2);
+    }
+    return string;
+  }
+
+  private void writeString(String value) {
+    output.write('"');
+    int start = 0;
+    int length = value.length();
+    for (int i = 0; i < length; i++) {
+      char c = value.charAt(i);
+      if (c < ESCAPES.length && ESCAPES[c] != null) {
+        output.write(value, start, i);
+        output.write(ESCAPES[c]);
+        start = i + 1;
+      }
+    }
+    output.write(value, start, length);
+    output.write('"');
+  }
+
+  private void beforeValue() {
+    switch (scopes[depth - 1]) {
+      case EMPTY_DOCUMENT -> scopes[depth - 1] = NONEMPTY_DOCUMENT;
+      case EMPTY_ARRAY -> scopes[depth - 1] = NONEMPTY_ARRAY;
+      case NONEMPTY_ARRAY -> output.write(',');
+      case DANGLING_NAME -> scopes[depth - 1] = NONEMPTY_OBJECT;
+      case NONEMPTY_DOCUMENT -> throw new IllegalStateException("document already completed");
+      default -> throw new IllegalStateException("expected name");
+    }
+  }
+
+  private void push(int scope) {
+    if (depth == scopes.length) {
+      scopes = Arrays.copyOf(scopes, depth * 2);
+    }
+    scopes[depth++] = scope;
+  }
+
+  private void pop(int empty, int nonEmpty) {
+    int scope = scopes[depth - 1];
+    if (scope != empty && scope != nonEmpty) {
+      throw new IllegalStateException("nesting problem");
+    }
+    depth--;
+  }
+}
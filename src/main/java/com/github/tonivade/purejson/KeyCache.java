@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2020-2026, Antonio Gabriel Muñoz Conejo <me at tonivade dot es>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.purejson;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Bounded cache of the names of the objects, so the same name repeated in many objects, or in many
+ * documents, is always the same instance and it's created only once.
+ *
+ * <p>The names are looked up using the raw content of the input, before creating any string. The
+ * table is shared by all the parsers without any synchronization, it's safe because strings are
+ * immutable, in the worst case a concurrent update is lost and the name is created again. When two
+ * names collide the last one replaces the previous one.
+ */
+final class KeyCache {
+
+  private static final int SIZE = 4096;
+  private static final int MAX_LENGTH = 64;
+
+  private static final String[] TABLE = new String[SIZE];
+
+  private KeyCache() {}
+
+  /**
+   * @param buffer
+   * @param start
+   * @param end
+   * @return the name with the content of the buffer between start and end
+   */
+  static String get(char[] buffer, int start, int end) {
+    int length = end - start;
+    if (length > MAX_LENGTH) {
+      return new String(buffer, start, length);
+    }
+    int hash = 0;
+    for (int i = start; i < end; i++) {
+      hash = 31 * hash + buffer[i];
+    }
+    int index = index(hash);
+    var cached = TABLE[index];
+    if (cached != null && matches(cached, buffer, start, length)) {
+      return cached;
+    }
+    var name = new String(buffer, start, length);
+    TABLE[index] = name;
+    return name;
+  }
+
+  /**
+   * Same as {@link #get(char[], int, int)} but the content is a region of a string.
+   *
+   * @param source
+   * @param start
+   * @param end
+   * @return the name with the content of the source between start and end
+   */
+  static String get(String source, int start, int end) {
+    int length = end - start;
+    if (length > MAX_LENGTH) {
+      return source.substring(start, end);
+    }
+    int hash = 0;
+    for (int i = start; i < end; i++) {
+      hash = 31 * hash + source.charAt(i);
+    }
+    int index = index(hash);
+    var cached = TABLE[index];
+    if (cached != null && cached.length() == length && source.regionMatches(start, cached, 0, length)) {
+      return cached;
+    }
+    var name = source.substring(start, end);
+    TABLE[index] = name;
+    return name;
+  }
+
+  /**
+   * Same as {@link #get(char[], int, int)} but the content is utf-8. Only names with ascii
+   * characters are cached.
+   *
+   * @param buffer
+   * @param start
+   * @param end
+   * @return the name with the content of the buffer between start and end
+   */
+  static String get(byte[] buffer, int start, int end) {
+    int length = end - start;
+    if (length > MAX_LENGTH) {
+      return new String(buffer, start, length, UTF_8);
+    }
+    int hash = 0;
+    for (int i = start; i < end; i++) {
+      byte b = buffer[i];
+      if (b < 0) {
+        return new String(buffer, start, length, UTF_8);
+      }
+      hash = 31 * hash + b;
+    }
+    int index = index(hash);
+    var cached = TABLE[index];
+    if (cached != null && matches(cached, buffer, start, length)) {
+      return cached;
+    }
+    var name = new String(buffer, start, length, UTF_8);
+    TABLE[index] = name;
+    return name;
+  }
+
+  /**
+   * Used when the name is already created by the parser, the new instance is discarded if an equal
+   * name is already cached.
+   *
+   * @param name
+   * @return the cached instance of the name
+   */
+  static String get(String name) {
+    if (name.length() > MAX_LENGTH) {
+      return name;
+    }
+    int index = index(name.hashCode());
+    var cached = TABLE[index];
+    if (name.equals(cached)) {
+      return cached;
+    }
+    TABLE[index] = name;
+    return name;
+  }
+
+  private static int index(int hash) {
+    return (hash ^ (hash >>> 16)) & (SIZE - 1);
+  }
+
+  private static boolean matches(String cached, char[] buffer, int start, int length) {
+    if (cached.length() != length) {
+      return false;
+    }
+    for (int i = 0; i < length; i++) {
+      if (cached.charAt(i) != buffer[start + i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean matches(String cached, byte[] buffer, int start, int length) {
+    if (cached.length() != length) {
+      return false;
+    }
+    for (int i = 0; i < length; i++) {
+      if (cached.charAt(i) != buffer[start + i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
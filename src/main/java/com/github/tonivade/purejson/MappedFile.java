@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2020-2026, Antonio Gabriel Muñoz Conejo <me at tonivade dot es>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.purejson;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Maps files in memory in read only mode. A single mapping cannot be bigger than 2GB, so big files
+ * are mapped in several chunks. The content of the file is never copied to the heap.
+ */
+final class MappedFile {
+
+  static final int MAX_CHUNK_SIZE = 1 << 30;
+
+  private MappedFile() {}
+
+  /**
+   * @param file
+   * @return consecutive chunks of the file
+   */
+  static List<ByteBuffer> map(Path file) {
+    return map(file, false);
+  }
+
+  /**
+   * Same as {@link #map(Path)} but all the chunks end with a line break, or at the end of the file,
+   * so each chunk contains only complete lines.
+   *
+   * @param file
+   * @return consecutive chunks of the file
+   */
+  static List<ByteBuffer> mapLines(Path file) {
+    return map(file, true);
+  }
+
+  private static List<ByteBuffer> map(Path file, boolean lines) {
+    try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      var chunks = new ArrayList<ByteBuffer>();
+      long size = channel.size();
+      long position = 0;
+      while (position < size) {
+        int length = (int) Math.min(size - position, MAX_CHUNK_SIZE);
+        ByteBuffer chunk = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+        if (lines && position + length < size) {
+          length = lastLineBreak(chunk) + 1;
+          if (length == 0) {
+            throw new IllegalStateException("line too long at offset " + position);
+          }
+          chunk = chunk.slice(0, length);
+        }
+        chunks.add(chunk);
+        position += length;
+      }
+      return List.copyOf(chunks);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static int lastLineBreak(ByteBuffer buffer) {
+    for (int i = buffer.limit() - 1; i >= 0; i--) {
+      if (buffer.get(i) == '\n') {
+        return i;
+      }
+    }
+    return -1;
+  }
+}
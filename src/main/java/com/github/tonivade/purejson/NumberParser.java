@@ -0,0 +1,329 @@
+/*
+ * Copyright (c) 2020-2026, Antonio Gabriel Muñoz Conejo <me at tonivade dot es>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.purejson;
+
+import java.math.BigInteger;
+
+/**
+ * Converts the text of a valid json number in a single pass without throwing exceptions. Integral
+ * numbers are returned as {@link Long}, or {@link BigInteger} if they don't fit, and the rest as
+ * {@link Double}.
+ *
+ * <p>Doubles are always correctly rounded. Most of them are exact using the fast path of Clinger,
+ * the rest are converted using the algorithm of Eisel and Lemire. Only for numbers with more than
+ * 19 significant digits, or close to the limits of the double range, it fallbacks to
+ * {@link Double#parseDouble(String)}.
+ */
+final class NumberParser {
+
+  private static final int MAX_DIGITS = 19;
+  private static final int MAX_EXACT_POWER = 22;
+  private static final long MAX_EXACT_MANTISSA = 1L << 53;
+  private static final String MAX_LONG = Long.toString(Long.MAX_VALUE);
+  private static final String MIN_LONG = Long.toString(Long.MIN_VALUE);
+
+  private static final double[] EXACT_POWERS = {
+    1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+    1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+  };
+
+  private NumberParser() {}
+
+  /**
+   * @param number a valid json number
+   * @return the value of the number
+   */
+  static Number parse(String number) {
+    return parse(number, true);
+  }
+
+  /**
+   * @param number a valid json number
+   * @return the value of the number as a double
+   */
+  static double parseDouble(String number) {
+    return parse(number, false).doubleValue();
+  }
+
+  /**
+   * @param number a valid json number
+   * @return true if the number is integral and fits in a long
+   */
+  static boolean isLong(String number) {
+    int length = number.length();
+    for (int i = 0; i < length; i++) {
+      char c = number.charAt(i);
+      if (c == '.' || c == 'e' || c == 'E') {
+        return false;
+      }
+    }
+    boolean negative = number.charAt(0) == '-';
+    int digits = negative ? length - 1 : length;
+    if (digits != MAX_DIGITS) {
+      return digits < MAX_DIGITS;
+    }
+    // same length and no leading zeros, so the text can be compared directly
+    return number.compareTo(negative ? MIN_LONG : MAX_LONG) <= 0;
+  }
+
+  /**
+   * Numbers with the same value have the same canonical form, whatever the notation: the sign, the
+   * significant digits without leading or trailing zeros, and the exponent of the first digit. For
+   * example {@code 1.50}, {@code 15e-1} and {@code 0.15E1} are all {@code 15e0}.
+   *
+   * @param number a valid json number
+   * @return the canonical form of the number
+   */
+  static String canonical(String number) {
+    int length = number.length();
+    boolean negative = number.charAt(0) == '-';
+    var digits = new StringBuilder(length);
+    int point = -1;
+    int i = negative ? 1 : 0;
+    for (; i < length; i++) {
+      char c = number.charAt(i);
+      if (c == '.') {
+        point = digits.length();
+      } else if (c == 'e' || c == 'E') {
+        break;
+      } else {
+        digits.append(c);
+      }
+    }
+    if (point < 0) {
+      point = digits.length();
+    }
+    int first = 0;
+    while (first < digits.length() && digits.charAt(first) == '0') {
+      first++;
+    }
+    if (first == digits.length()) {
+      return "0";
+    }
+    int last = digits.length();
+    while (digits.charAt(last - 1) == '0') {
+      last--;
+    }
+    int shift = point - first - 1;
+    String exponent;
+    if (i == length) {
+      exponent = Integer.toString(shift);
+    } else {
+      int start = number.charAt(i + 1) == '+' ? i + 2 : i + 1;
+      // the exponent can be as long as the input
+      exponent = length - start <= MAX_DIGITS - 1
+          ? Long.toString(Long.parseLong(number, start, length, 10) + shift)
+          : new BigInteger(number.substring(start)).add(BigInteger.valueOf(shift)).toString();
+    }
+    return (negative ? "-" : "") + digits.substring(first, last) + "e" + exponent;
+  }
+
+  private static Number parse(String number, boolean integral) {
+    int length = number.length();
+    int i = 0;
+    boolean negative = number.charAt(0) == '-';
+    if (negative) {
+      i++;
+    }
+
+    long mantissa = 0;
+    int digits = 0;
+    int exponent = 0;
+    for (; i < length; i++) {
+      int d = number.charAt(i) - '0';
+      if (d < 0 || d > 9) {
+        break;
+      }
+      if (digits < MAX_DIGITS) {
+        mantissa = mantissa * 10 + d;
+        if (mantissa != 0) {
+          digits++;
+        }
+      } else {
+        exponent++;
+        digits++;
+      }
+    }
+
+    if (i == length && integral) {
+      return integer(number, negative, mantissa, digits);
+    }
+
+    if (i < length && number.charAt(i) == '.') {
+      for (i++; i < length; i++) {
+        int d = number.charAt(i) - '0';
+        if (d < 0 || d > 9) {
+          break;
+        }
+        if (digits < MAX_DIGITS) {
+          mantissa = mantissa * 10 + d;
+          exponent--;
+          if (mantissa != 0) {
+            digits++;
+          }
+        } else {
+          digits++;
+        }
+      }
+    }
+
+    if (i < length) {
+      // exponent, the syntax is already validated
+      i++;
+      boolean negativeExponent = number.charAt(i) == '-';
+      if (negativeExponent || number.charAt(i) == '+') {
+        i++;
+      }
+      int value = 0;
+      for (; i < length; i++) {
+        // bigger exponents are zero or infinity anyway
+        if (value < 100_000) {
+          value = value * 10 + (number.charAt(i) - '0');
+        }
+      }
+      exponent += negativeExponent ? -value : value;
+    }
+
+    if (digits > MAX_DIGITS) {
+      return Double.parseDouble(number);
+    }
+    return toDouble(number, negative, mantissa, exponent);
+  }
+
+  private static Number integer(String number, boolean negative, long mantissa, int digits) {
+    if (digits < MAX_DIGITS) {
+      return negative ? -mantissa : mantissa;
+    }
+    if (digits == MAX_DIGITS) {
+      // mantissa is an unsigned value, it fits if it's smaller than 2^63 or exactly -2^63
+      if (mantissa >= 0) {
+        return negative ? -mantissa : mantissa;
+      }
+      if (negative && mantissa == Long.MIN_VALUE) {
+        return Long.MIN_VALUE;
+      }
+    }
+    return new BigInteger(number);
+  }
+
+  private static double toDouble(String number, boolean negative, long mantissa, int exponent) {
+    if (mantissa == 0) {
+      return negative ? -0.0 : 0.0;
+    }
+    if (mantissa >= 0 && mantissa <= MAX_EXACT_MANTISSA
+        && exponent >= -MAX_EXACT_POWER && exponent <= MAX_EXACT_POWER) {
+      // both values are exact, so the result of a single operation is correctly rounded
+      double value = exponent < 0
+          ? mantissa / EXACT_POWERS[-exponent] : mantissa * EXACT_POWERS[exponent];
+      return negative ? -value : value;
+    }
+    double value = eiselLemire(mantissa, exponent, negative);
+    if (Double.isNaN(value)) {
+      return Double.parseDouble(number);
+    }
+    return value;
+  }
+
+  /**
+   * Multiplies the mantissa by a truncated 128 bits approximation of the power of ten, the result
+   * is correct unless the error of the approximation affects the rounding, then it fails.
+   *
+   * @param mantissa unsigned and not zero
+   * @param exponent
+   * @param negative
+   * @return the correctly rounded value or {@code NaN} if it cannot be determined
+   */
+  private static double eiselLemire(long mantissa, int exponent, boolean negative) {
+    if (exponent < PowersOfTen.MIN_EXPONENT || exponent > PowersOfTen.MAX_EXPONENT) {
+      return Double.NaN;
+    }
+    int index = exponent - PowersOfTen.MIN_EXPONENT;
+    long high = PowersOfTen.HIGH[index];
+    long low = PowersOfTen.LOW[index];
+
+    int clz = Long.numberOfLeadingZeros(mantissa);
+    long normalized = mantissa << clz;
+    // 217706 / 2^16 is log2(10)
+    long exponent2 = ((217706L * exponent) >> 16) + 64 + 1023 - clz;
+
+    long resultHigh = Math.unsignedMultiplyHigh(normalized, high);
+    long resultLow = normalized * high;
+    if ((resultHigh & 0x1FF) == 0x1FF && Long.compareUnsigned(resultLow + normalized, normalized) < 0) {
+      // the approximation is not precise enough, use the lower bits of the power
+      long extraHigh = Math.unsignedMultiplyHigh(normalized, low);
+      long extraLow = normalized * low;
+      long mergedHigh = resultHigh;
+      long mergedLow = resultLow + extraHigh;
+      if (Long.compareUnsigned(mergedLow, resultLow) < 0) {
+        mergedHigh++;
+      }
+      if ((mergedHigh & 0x1FF) == 0x1FF && mergedLow == -1L
+          && Long.compareUnsigned(extraLow + normalized, normalized) < 0) {
+        return Double.NaN;
+      }
+      resultHigh = mergedHigh;
+      resultLow = mergedLow;
+    }
+
+    long msb = resultHigh >>> 63;
+    long result = resultHigh >>> (msb + 9);
+    exponent2 -= 1 ^ msb;
+
+    if (resultLow == 0 && (resultHigh & 0x1FF) == 0 && (result & 3) == 1) {
+      // exactly halfway between two doubles
+      return Double.NaN;
+    }
+
+    result += result & 1;
+    result >>>= 1;
+    if ((result >>> 53) > 0) {
+      result >>>= 1;
+      exponent2++;
+    }
+
+    // subnormal, infinity or NaN
+    if (Long.compareUnsigned(exponent2 - 1, 0x7FF - 1) >= 0) {
+      return Double.NaN;
+    }
+
+    long bits = exponent2 << 52 | result & 0x000FFFFFFFFFFFFFL;
+    return Double.longBitsToDouble(negative ? bits | Long.MIN_VALUE : bits);
+  }
+
+  /**
+   * Truncated 128 bits approximation of the powers of ten, normalized so the highest bit is always
+   * one. Initialized only the first time a number needs them.
+   */
+  private static final class PowersOfTen {
+
+    static final int MIN_EXPONENT = -348;
+    static final int MAX_EXPONENT = 347;
+
+    static final long[] HIGH = new long[MAX_EXPONENT - MIN_EXPONENT + 1];
+    static final long[] LOW = new long[MAX_EXPONENT - MIN_EXPONENT + 1];
+
+    static {
+      var one = BigInteger.ONE;
+      var ten = BigInteger.TEN;
+      var power = one;
+      for (int exponent = 0; exponent <= MAX_EXPONENT; exponent++) {
+        int length = power.bitLength();
+        set(exponent, length > 128 ? power.shiftRight(length - 128) : power.shiftLeft(128 - length));
+        power = power.multiply(ten);
+      }
+      power = ten;
+      for (int exponent = -1; exponent >= MIN_EXPONENT; exponent--) {
+        // floor(2^(127 + length) / 10^-exponent) is always a value of 128 bits
+        set(exponent, one.shiftLeft(127 + power.bitLength()).divide(power));
+        power = power.multiply(ten);
+      }
+    }
+
+    private static void set(int exponent, BigInteger value) {
+      HIGH[exponent - MIN_EXPONENT] = value.shiftRight(64).longValue();
+      LOW[exponent - MIN_EXPONENT] = value.longValue();
+    }
+  }
+}
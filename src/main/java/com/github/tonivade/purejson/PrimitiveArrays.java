@@ -0,0 +1,506 @@
+/*
+ * Copyright (c) 2020-2026, Antonio Gabriel Muñoz Conejo <me at tonivade dot es>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.purejson;
+
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * Encoders and decoders of arrays of primitive types. Items are read and written directly from and
+ * into the arrays, without boxing each item and without reflection.
+ *
+ * <p>Arrays of bytes are encoded as arrays of numbers, or as a Base64 string using
+ * {@link JsonAdapter#BASE64}. Both forms are accepted when decoding.
+ */
+final class PrimitiveArrays {
+
+  private static final int INITIAL_SIZE = 16;
+
+  private PrimitiveArrays() {}
+
+  /**
+   * @param type an array of a primitive type
+   * @return the encoder for the given type
+   */
+  static JsonEncoder<?> encoder(Class<?> type) {
+    var component = type.getComponentType();
+    if (component.equals(char.class)) {
+      return CHARS;
+    }
+    if (component.equals(byte.class)) {
+      return BYTES;
+    }
+    if (component.equals(short.class)) {
+      return SHORTS;
+    }
+    if (component.equals(int.class)) {
+      return INTS;
+    }
+    if (component.equals(long.class)) {
+      return LONGS;
+    }
+    if (component.equals(float.class)) {
+      return FLOATS;
+    }
+    if (component.equals(double.class)) {
+      return DOUBLES;
+    }
+    if (component.equals(boolean.class)) {
+      return BOOLEANS;
+    }
+    throw new IllegalArgumentException("not an array of a primitive type: " + type.getTypeName());
+  }
+
+  /**
+   * @param type an array of a primitive type
+   * @return the decoder for the given type
+   */
+  static JsonDecoder<?> decoder(Class<?> type) {
+    var component = type.getComponentType();
+    if (component.equals(char.class)) {
+      return CHARS;
+    }
+    if (component.equals(byte.class)) {
+      return BYTES;
+    }
+    if (component.equals(short.class)) {
+      return SHORTS;
+    }
+    if (component.equals(int.class)) {
+      return INTS;
+    }
+    if (component.equals(long.class)) {
+      return LONGS;
+    }
+    if (component.equals(float.class)) {
+      return FLOATS;
+    }
+    if (component.equals(double.class)) {
+      return DOUBLES;
+    }
+    if (component.equals(boolean.class)) {
+      return BOOLEANS;
+    }
+    throw new IllegalArgumentException("not an array of a primitive type: " + type.getTypeName());
+  }
+
+  private static final JsonAdapter<char[]> CHARS = new JsonAdapter<>() {
+
+    @Override
+    public JsonNode encode(char[] value) {
+      var array = new JsonNode.JsonArray();
+      for (char item : value) {
+        array.add(JsonDSL.string(String.valueOf(item)));
+      }
+      return array;
+    }
+
+    @Override
+    public void encode(char[] value, JsonWriter writer) {
+      writer.beginArray();
+      for (char item : value) {
+        writer.value(String.valueOf(item));
+      }
+      writer.endArray();
+    }
+
+    @Override
+    public char[] decode(JsonNode json) {
+      var array = checkArray(json);
+      var result = new char[array.size()];
+      for (int i = 0; i < result.length; i++) {
+        result[i] = array.get(i).asString().charAt(0);
+      }
+      return result;
+    }
+
+    @Override
+    public char[] decode(JsonReader reader) {
+      checkArray(reader);
+      var result = new char[INITIAL_SIZE];
+      int size = 0;
+      reader.beginArray();
+      while (reader.hasNext()) {
+        if (size == result.length) {
+          result = Arrays.copyOf(result, size * 2);
+        }
+        result[size++] = reader.nextString().charAt(0);
+      }
+      reader.endArray();
+      return Arrays.copyOf(result, size);
+    }
+  };
+
+  private static final JsonAdapter<byte[]> BYTES = new JsonAdapter<>() {
+
+    @Override
+    public JsonNode encode(byte[] value) {
+      var array = new JsonNode.JsonArray();
+      for (byte item : value) {
+        array.add(JsonDSL.number(item));
+      }
+      return array;
+    }
+
+    @Override
+    public void encode(byte[] value, JsonWriter writer) {
+      writer.beginArray();
+      for (byte item : value) {
+        writer.value(item);
+      }
+      writer.endArray();
+    }
+
+    @Override
+    public byte[] decode(JsonNode json) {
+      if (json instanceof JsonNode.JsonString string) {
+        return Base64.getDecoder().decode(string.value());
+      }
+      var array = checkArray(json);
+      var result = new byte[array.size()];
+      for (int i = 0; i < result.length; i++) {
+        result[i] = array.get(i).asByte();
+      }
+      return result;
+    }
+
+    @Override
+    public byte[] decode(JsonReader reader) {
+      if (reader.peek() == JsonReader.Token.STRING) {
+        return Base64.getDecoder().decode(reader.nextString());
+      }
+      checkArray(reader);
+      var result = new byte[INITIAL_SIZE];
+      int size = 0;
+      reader.beginArray();
+      while (reader.hasNext()) {
+        if (size == result.length) {
+          result = Arrays.copyOf(result, size * 2);
+        }
+        result[size++] = (byte) reader.nextInt();
+      }
+      reader.endArray();
+      return Arrays.copyOf(result, size);
+    }
+  };
+
+  static final JsonAdapter<byte[]> BYTES_BASE64 = new JsonAdapter<>() {
+
+    @Override
+    public JsonNode encode(byte[] value) {
+      return JsonDSL.string(Base64.getEncoder().encodeToString(value));
+    }
+
+    @Override
+    public void encode(byte[] value, JsonWriter writer) {
+      writer.base64(value);
+    }
+
+    @Override
+    public byte[] decode(JsonNode json) {
+      return BYTES.decode(json);
+    }
+
+    @Override
+    public byte[] decode(JsonReader reader) {
+      return BYTES.decode(reader);
+    }
+  };
+
+  private static final JsonAdapter<short[]> SHORTS = new JsonAdapter<>() {
+
+    @Override
+    public JsonNode encode(short[] value) {
+      var array = new JsonNode.JsonArray();
+      for (short item : value) {
+        array.add(JsonDSL.number(item));
+      }
+      return array;
+    }
+
+    @Override
+    public void encode(short[] value, JsonWriter writer) {
+      writer.beginArray();
+      for (short item : value) {
+        writer.value(item);
+      }
+      writer.endArray();
+    }
+
+    @Override
+    public short[] decode(JsonNode json) {
+      var array = checkArray(json);
+      var result = new short[array.size()];
+      for (int i = 0; i < result.length; i++) {
+        result[i] = array.get(i).asShort();
+      }
+      return result;
+    }
+
+    @Override
+    public short[] decode(JsonReader reader) {
+      checkArray(reader);
+      var result = new short[INITIAL_SIZE];
+      int size = 0;
+      reader.beginArray();
+      while (reader.hasNext()) {
+        if (size == result.length) {
+          result = Arrays.copyOf(result, size * 2);
+        }
+        result[size++] = (short) reader.nextInt();
+      }
+      reader.endArray();
+      return Arrays.copyOf(result, size);
+    }
+  };
+
+  private static final JsonAdapter<int[]> INTS = new JsonAdapter<>() {
+
+    @Override
+    public JsonNode encode(int[] value) {
+      var array = new JsonNode.JsonArray();
+      for (int item : value) {
+        array.add(JsonDSL.number(item));
+      }
+      return array;
+    }
+
+    @Override
+    public void encode(int[] value, JsonWriter writer) {
+      writer.beginArray();
+      for (int item : value) {
+        writer.value(item);
+      }
+      writer.endArray();
+    }
+
+    @Override
+    public int[] decode(JsonNode json) {
+      var array = checkArray(json);
+      var result = new int[array.size()];
+      for (int i = 0; i < result.length; i++) {
+        result[i] = array.get(i).asInt();
+      }
+      return result;
+    }
+
+    @Override
+    public int[] decode(JsonReader reader) {
+      checkArray(reader);
+      var result = new int[INITIAL_SIZE];
+      int size = 0;
+      reader.beginArray();
+      while (reader.hasNext()) {
+        if (size == result.length) {
+          result = Arrays.copyOf(result, size * 2);
+        }
+        result[size++] = reader.nextInt();
+      }
+      reader.endArray();
+      return Arrays.copyOf(result, size);
+    }
+  };
+
+  private static final JsonAdapter<long[]> LONGS = new JsonAdapter<>() {
+
+    @Override
+    public JsonNode encode(long[] value) {
+      var array = new JsonNode.JsonArray();
+      for (long item : value) {
+        array.add(JsonDSL.number(item));
+      }
+      return array;
+    }
+
+    @Override
+    public void encode(long[] value, JsonWriter writer) {
+      writer.beginArray();
+      for (long item : value) {
+        writer.value(item);
+      }
+      writer.endArray();
+    }
+
+    @Override
+    public long[] decode(JsonNode json) {
+      var array = checkArray(json);
+      var result = new long[array.size()];
+      for (int i = 0; i < result.length; i++) {
+        result[i] = array.get(i).asLong();
+      }
+      return result;
+    }
+
+    @Override
+    public long[] decode(JsonReader reader) {
+      checkArray(reader);
+      var result = new long[INITIAL_SIZE];
+      int size = 0;
+      reader.beginArray();
+      while (reader.hasNext()) {
+        if (size == result.length) {
+          result = Arrays.copyOf(result, size * 2);
+        }
+        result[size++] = reader.nextLong();
+      }
+      reader.endArray();
+      return Arrays.copyOf(result, size);
+    }
+  };
+
+  private static final JsonAdapter<float[]> FLOATS = new JsonAdapter<>() {
+
+    @Override
+    public JsonNode encode(float[] value) {
+      var array = new JsonNode.JsonArray();
+      for (float item : value) {
+        array.add(JsonDSL.number(item));
+      }
+      return array;
+    }
+
+    @Override
+    public void encode(float[] value, JsonWriter writer) {
+      writer.beginArray();
+      for (float item : value) {
+        writer.value(item);
+      }
+      writer.endArray();
+    }
+
+    @Override
+    public float[] decode(JsonNode json) {
+      var array = checkArray(json);
+      var result = new float[array.size()];
+      for (int i = 0; i < result.length; i++) {
+        result[i] = array.get(i).asFloat();
+      }
+      return result;
+    }
+
+    @Override
+    public float[] decode(JsonReader reader) {
+      checkArray(reader);
+      var result = new float[INITIAL_SIZE];
+      int size = 0;
+      reader.beginArray();
+      while (reader.hasNext()) {
+        if (size == result.length) {
+          result = Arrays.copyOf(result, size * 2);
+        }
+        result[size++] = (float) reader.nextDouble();
+      }
+      reader.endArray();
+      return Arrays.copyOf(result, size);
+    }
+  };
+
+  private static final JsonAdapter<double[]> DOUBLES = new JsonAdapter<>() {
+
+    @Override
+    public JsonNode encode(double[] value) {
+      var array = new JsonNode.JsonArray();
+      for (double item : value) {
+        array.add(JsonDSL.number(item));
+      }
+      return array;
+    }
+
+    @Override
+    public void encode(double[] value, JsonWriter writer) {
+      writer.beginArray();
+      for (double item : value) {
+        writer.value(item);
+      }
+      writer.endArray();
+    }
+
+    @Override
+    public double[] decode(JsonNode json) {
+      var array = checkArray(json);
+      var result = new double[array.size()];
+      for (int i = 0; i < result.length; i++) {
+        result[i] = array.get(i).asDouble();
+      }
+      return result;
+    }
+
+    @Override
+    public double[] decode(JsonReader reader) {
+      checkArray(reader);
+      var result = new double[INITIAL_SIZE];
+      int size = 0;
+      reader.beginArray();
+      while (reader.hasNext()) {
+        if (size == result.length) {
+          result = Arrays.copyOf(result, size * 2);
+        }
+        result[size++] = reader.nextDouble();
+      }
+      reader.endArray();
+      return Arrays.copyOf(result, size);
+    }
+  };
+
+  private static final JsonAdapter<boolean[]> BOOLEANS = new JsonAdapter<>() {
+
+    @Override
+    public JsonNode encode(boolean[] value) {
+      var array = new JsonNode.JsonArray();
+      for (boolean item : value) {
+        array.add(JsonDSL.bool(item));
+      }
+      return array;
+    }
+
+    @Override
+    public void encode(boolean[] value, JsonWriter writer) {
+      writer.beginArray();
+      for (boolean item : value) {
+        writer.value(item);
+      }
+      writer.endArray();
+    }
+
+    @Override
+    public boolean[] decode(JsonNode json) {
+      var array = checkArray(json);
+      var result = new boolean[array.size()];
+      for (int i = 0; i < result.length; i++) {
+        result[i] = array.get(i).asBoolean();
+      }
+      return result;
+    }
+
+    @Override
+    public boolean[] decode(JsonReader reader) {
+      checkArray(reader);
+      var result = new boolean[INITIAL_SIZE];
+      int size = 0;
+      reader.beginArray();
+      while (reader.hasNext()) {
+        if (size == result.length) {
+          result = Arrays.copyOf(result, size * 2);
+        }
+        result[size++] = reader.nextBoolean();
+      }
+      reader.endArray();
+      return Arrays.copyOf(result, size);
+    }
+  };
+
+  private static JsonNode.JsonArray checkArray(JsonNode json) {
+    if (json instanceof JsonNode.JsonArray array) {
+      return array;
+    }
+    throw new IllegalArgumentException(json.toString());
+  }
+
+  private static void checkArray(JsonReader reader) {
+    if (reader.peek() != JsonReader.Token.BEGIN_ARRAY) {
+      throw new IllegalArgumentException("expected array but was " + reader.peek());
+    }
+  }
+}
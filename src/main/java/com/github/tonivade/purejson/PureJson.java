@@ -5,13 +5,23 @@
 package com.github.tonivade.purejson;
 
 import static com.github.tonivade.purefun.core.Precondition.checkNonNull;
+import static com.github.tonivade.purefun.core.Unit.unit;
 import static com.github.tonivade.purejson.JsonAdapter.adapter;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.Reader;
+import java.io.UncheckedIOException;
 import java.io.Writer;
 import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
-import com.eclipsesource.json.JsonParser;
 import com.github.tonivade.purefun.core.Unit;
 import com.github.tonivade.purefun.type.Option;
 import com.github.tonivade.purefun.type.Try;
@@ -50,13 +60,275 @@ public final class PureJson<T> {
         .flatMap(PureJson::tryParse);
   }
 
+  /**
+   * Parses the document but, instead of building the whole tree, it only builds a compact index of
+   * its structure. Objects and arrays create their values from the index only when they are
+   * accessed, so reading a few fields of a big document is much cheaper. The input is fully
+   * validated anyway.
+   *
+   * <p>Any lazy value retained from the result keeps the whole input in memory until it's fully
+   * materialized.
+   *
+   * @param json
+   * @return
+   */
+  public static Try<JsonNode> parseLazy(String json) {
+    return Option.of(json).fold(Try::<String>illegalArgumentException, Try::success)
+        .flatMap(string -> Try.of(() -> Tape.parse(string)));
+  }
+
   public static Try<JsonNode> parse(Reader json) {
     return Option.of(json).fold(Try::<Reader>illegalArgumentException, Try::success)
-        .flatMap(PureJson::tryParse);
+        .flatMap(reader -> JsonContext.pooled(context -> tryParse(context.input(reader))));
+  }
+
+  /**
+   * Parses an UTF-8 encoded document. Bytes are tokenized directly, without decoding the whole
+   * input to a string first.
+   *
+   * @param json
+   * @return
+   */
+  public static Try<JsonNode> parse(byte[] json) {
+    return Option.of(json).fold(Try::<byte[]>illegalArgumentException, Try::success)
+        .flatMap(bytes -> JsonContext.pooled(context -> tryParse(context.input(bytes))));
   }
 
+  /**
+   * Parses the remaining bytes of the buffer as an UTF-8 encoded document. The position of the
+   * buffer is not modified.
+   *
+   * @param json
+   * @return
+   */
+  public static Try<JsonNode> parse(ByteBuffer json) {
+    return Option.of(json).fold(Try::<ByteBuffer>illegalArgumentException, Try::success)
+        .flatMap(buffer -> tryParse(Utf8Input.of(buffer)));
+  }
+
+  /**
+   * Parses an UTF-8 encoded document from the input stream. The stream is not closed.
+   *
+   * @param json
+   * @return
+   */
+  public static Try<JsonNode> parse(InputStream json) {
+    return Option.of(json).fold(Try::<InputStream>illegalArgumentException, Try::success)
+        .flatMap(input -> JsonContext.pooled(context -> tryParse(context.input(input))));
+  }
+
+  /**
+   * Parses an UTF-8 encoded file. The file is mapped in memory, so its content is not loaded in the
+   * heap, only the resulting tree.
+   *
+   * @param file
+   * @return
+   */
+  public static Try<JsonNode> parse(Path file) {
+    return Option.of(file).fold(Try::<Path>illegalArgumentException, Try::success)
+        .flatMap(path -> Try.of(() -> MappedFile.map(path)))
+        .flatMap(chunks -> tryParse(Utf8Input.of(chunks)));
+  }
+
+  /**
+   * Decodes the given json string. The value is decoded directly from the tokens of the input,
+   * without building an intermediate tree of {@link JsonNode}s.
+   *
+   * @param json
+   * @return
+   */
   public Try<Option<T>> fromJson(String json) {
-    return parse(json).flatMap(this::fromJson);
+    return Option.of(json).fold(Try::<String>illegalArgumentException, Try::success)
+        .flatMap(this::tryDecode);
+  }
+
+  /**
+   * Decodes the UTF-8 encoded document, without decoding the whole input to a string first.
+   *
+   * @param json
+   * @return
+   */
+  public Try<Option<T>> fromJson(byte[] json) {
+    return Option.of(json).fold(Try::<byte[]>illegalArgumentException, Try::success)
+        .flatMap(bytes -> JsonContext.pooled(context -> tryDecode(context.input(bytes))));
+  }
+
+  /**
+   * Decodes the remaining bytes of the buffer. The position of the buffer is not modified.
+   *
+   * @param json
+   * @return
+   */
+  public Try<Option<T>> fromJson(ByteBuffer json) {
+    return Option.of(json).fold(Try::<ByteBuffer>illegalArgumentException, Try::success)
+        .flatMap(buffer -> tryDecode(Utf8Input.of(buffer)));
+  }
+
+  /**
+   * Decodes the UTF-8 encoded document from the input stream. The stream is not closed.
+   *
+   * @param json
+   * @return
+   */
+  public Try<Option<T>> fromJson(InputStream json) {
+    return Option.of(json).fold(Try::<InputStream>illegalArgumentException, Try::success)
+        .flatMap(input -> JsonContext.pooled(context -> tryDecode(context.input(input))));
+  }
+
+  /**
+   * Decodes the next value of the given reader.
+   *
+   * @param reader
+   * @return
+   */
+  public Try<Option<T>> fromJson(JsonReader reader) {
+    return Try.of(() -> decode(reader));
+  }
+
+  /**
+   * Decodes an UTF-8 encoded file. The file is mapped in memory and the value is decoded directly
+   * from it, so its content is not loaded in the heap.
+   *
+   * @param file
+   * @return
+   */
+  public Try<Option<T>> fromJson(Path file) {
+    return Option.of(file).fold(Try::<Path>illegalArgumentException, Try::success)
+        .flatMap(path -> Try.of(() -> MappedFile.map(path)))
+        .flatMap(chunks -> tryDecode(Utf8Input.of(chunks)));
+  }
+
+  /**
+   * Decodes the values of the document that match the query. The document is read directly from
+   * its tokens, and only the matching values are decoded, the rest is skipped.
+   *
+   * @param path
+   * @param json
+   * @return
+   */
+  public Try<List<T>> select(JsonPath path, String json) {
+    return Option.of(json).fold(Try::<String>illegalArgumentException, Try::success)
+        .flatMap(string -> JsonContext.pooled(context -> trySelect(path, context.input(string))));
+  }
+
+  /**
+   * Same as {@link #select(JsonPath, String)} but the document is UTF-8 encoded.
+   *
+   * @param path
+   * @param json
+   * @return
+   */
+  public Try<List<T>> select(JsonPath path, byte[] json) {
+    return Option.of(json).fold(Try::<byte[]>illegalArgumentException, Try::success)
+        .flatMap(bytes -> JsonContext.pooled(context -> trySelect(path, context.input(bytes))));
+  }
+
+  /**
+   * Same as {@link #select(JsonPath, String)} but the document is read from the UTF-8 encoded
+   * stream. The stream is not closed.
+   *
+   * @param path
+   * @param json
+   * @return
+   */
+  public Try<List<T>> select(JsonPath path, InputStream json) {
+    return Option.of(json).fold(Try::<InputStream>illegalArgumentException, Try::success)
+        .flatMap(input -> JsonContext.pooled(context -> trySelect(path, context.input(input))));
+  }
+
+  /**
+   * Creates a non blocking parser that decodes the values of an UTF-8 encoded input as it arrives
+   * in chunks.
+   *
+   * @return
+   */
+  public JsonFeeder<T> feeder() {
+    return new JsonFeeder<>(adapter);
+  }
+
+  /**
+   * Decodes a newline delimited json input, one value per line. Values are decoded lazily while
+   * the stream is consumed, and the first invalid line stops the stream with an exception.
+   *
+   * @param reader
+   * @return
+   */
+  public Stream<T> fromJsonLines(Reader reader) {
+    return fromJsonLines(reader, JsonLines.ErrorHandler.fail());
+  }
+
+  public Stream<T> fromJsonLines(Reader reader, JsonLines.ErrorHandler handler) {
+    return new JsonLines<>(new CharInput(checkNonNull(reader)), adapter, handler).stream();
+  }
+
+  public Stream<T> fromJsonLines(InputStream input) {
+    return fromJsonLines(input, JsonLines.ErrorHandler.fail());
+  }
+
+  /**
+   * Decodes a newline delimited and UTF-8 encoded input, one value per line.
+   *
+   * @param input
+   * @param handler what to do with the lines that cannot be decoded
+   * @return
+   */
+  public Stream<T> fromJsonLines(InputStream input, JsonLines.ErrorHandler handler) {
+    return new JsonLines<>(new Utf8Input(checkNonNull(input)), adapter, handler).stream();
+  }
+
+  public Stream<T> fromJsonLines(Path file) {
+    return fromJsonLines(file, JsonLines.ErrorHandler.fail());
+  }
+
+  /**
+   * Decodes a newline delimited and UTF-8 encoded file, one value per line. The returned stream
+   * should be closed to release the file.
+   *
+   * @param file
+   * @param handler what to do with the lines that cannot be decoded
+   * @return
+   */
+  public Stream<T> fromJsonLines(Path file, JsonLines.ErrorHandler handler) {
+    try {
+      return fromJsonLines(Files.newInputStream(file), handler);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  public Stream<T> fromJsonLinesParallel(Path file) {
+    return fromJsonLinesParallel(file, JsonLines.ErrorHandler.fail(), true);
+  }
+
+  /**
+   * Decodes a newline delimited and UTF-8 encoded file using a parallel stream. The file is mapped in
+   * memory and split in chunks of complete lines, and each chunk is decoded by a different thread of
+   * the {@link java.util.concurrent.ForkJoinPool} that executes the stream.
+   *
+   * @param file
+   * @param handler what to do with the lines that cannot be decoded, it should be thread safe
+   * @param ordered if false the values are returned in any order, that's usually faster
+   * @return
+   */
+  public Stream<T> fromJsonLinesParallel(Path file, JsonLines.ErrorHandler handler, boolean ordered) {
+    return fromJsonLinesParallel(MappedFile.mapLines(file), handler, ordered);
+  }
+
+  /**
+   * Same as {@link #fromJsonLinesParallel(Path, JsonLines.ErrorHandler, boolean)} but the lines are
+   * read from the remaining bytes of the buffer. The position of the buffer is not modified.
+   *
+   * @param buffer
+   * @param handler what to do with the lines that cannot be decoded, it should be thread safe
+   * @param ordered if false the values are returned in any order, that's usually faster
+   * @return
+   */
+  public Stream<T> fromJsonLinesParallel(ByteBuffer buffer, JsonLines.ErrorHandler handler, boolean ordered) {
+    return fromJsonLinesParallel(List.of(buffer.slice()), handler, ordered);
+  }
+
+  private Stream<T> fromJsonLinesParallel(List<ByteBuffer> chunks, JsonLines.ErrorHandler handler, boolean ordered) {
+    return StreamSupport.stream(new JsonLinesSpliterator<>(chunks, adapter, checkNonNull(handler), ordered), true);
   }
 
   public Try<Option<T>> fromJson(JsonNode node) {
@@ -66,8 +338,60 @@ public final class PureJson<T> {
     return adapter.tryDecode(node).map(Option::some);
   }
 
+  /**
+   * Serializes the given value. The value is written directly to the output, without building an
+   * intermediate tree of {@link JsonNode}s.
+   *
+   * @param object
+   * @return
+   */
   public Try<String> toString(T object) {
-    return toJson(object).flatMap(PureJson::serialize);
+    return Try.of(() -> {
+      var output = new StringOutput(new StringBuilder());
+      encode(object, new JsonWriter(output));
+      return output.toString();
+    });
+  }
+
+  public Try<Unit> toJson(T object, Writer writer) {
+    return toJson(object, new JsonWriter(writer));
+  }
+
+  /**
+   * Serializes the given value as UTF-8 into the output stream.
+   *
+   * @param object
+   * @param output
+   * @return
+   */
+  public Try<Unit> toJson(T object, OutputStream output) {
+    return toJson(object, new JsonWriter(output));
+  }
+
+  /**
+   * Serializes the given value as UTF-8 into the buffer.
+   *
+   * @param object
+   * @param buffer
+   * @return
+   */
+  public Try<Unit> toJson(T object, ByteBuffer buffer) {
+    return toJson(object, new JsonWriter(buffer));
+  }
+
+  /**
+   * Writes the given value as the next value of the writer. The writer is flushed but not closed.
+   *
+   * @param object
+   * @param writer
+   * @return
+   */
+  public Try<Unit> toJson(T object, JsonWriter writer) {
+    return Try.of(() -> {
+      encode(object, writer);
+      writer.flush();
+      return unit();
+    });
   }
 
   public Try<JsonNode> toJson(T object) {
@@ -77,19 +401,55 @@ public final class PureJson<T> {
     return adapter.tryEncode(object);
   }
 
-  private static Try<JsonNode> tryParse(String json) {
+  private void encode(T object, JsonWriter writer) {
+    if (object == null) {
+      writer.nullValue();
+    } else {
+      adapter.encode(object, writer);
+    }
+  }
+
+  private Try<Option<T>> tryDecode(String json) {
+    return JsonContext.pooled(context -> tryDecode(context.input(json)));
+  }
+
+  private Try<Option<T>> tryDecode(JsonInput input) {
+    return Try.of(() -> decodeDocument(new JsonReader(input)));
+  }
+
+  private Try<List<T>> trySelect(JsonPath path, JsonInput input) {
     return Try.of(() -> {
-      var handler = new PureJsonHandler();
-      new JsonParser(handler).parse(json);
-      return handler.getValue();
+      var reader = new JsonReader(input);
+      var matches = path.select(reader, adapter);
+      reader.endDocument();
+      return matches;
     });
   }
 
-  private static Try<JsonNode> tryParse(Reader reader) {
+  private Option<T> decodeDocument(JsonReader reader) {
+    var value = decode(reader);
+    reader.endDocument();
+    return value;
+  }
+
+  private Option<T> decode(JsonReader reader) {
+    if (reader.peek() == JsonReader.Token.NULL) {
+      reader.nextNull();
+      return Option.none();
+    }
+    return Option.some(adapter.decode(reader));
+  }
+
+  private static Try<JsonNode> tryParse(String json) {
+    return JsonContext.pooled(context -> tryParse(context.input(json)));
+  }
+
+  private static Try<JsonNode> tryParse(JsonInput input) {
     return Try.of(() -> {
-      var handler = new PureJsonHandler();
-      new JsonParser(handler).parse(reader);
-      return handler.getValue();
+      var reader = new JsonReader(input);
+      var value = reader.nextNode();
+      reader.endDocument();
+      return value;
     });
   }
 
@@ -38,11 +38,7 @@ class PureJsonHandler extends JsonHandler<JsonNode.JsonArray, JsonNode.JsonObjec
 
   @Override
   public void endNumber(String string) {
-    try {
-      value = new JsonNode.JsonNumber(Long.parseLong(string));
-    } catch (NumberFormatException e) {
-      value = new JsonNode.JsonNumber(Double.parseDouble(string));
-    }
+    value = number(string);
   }
 
   @Override
@@ -62,10 +58,17 @@ class PureJsonHandler extends JsonHandler<JsonNode.JsonArray, JsonNode.JsonObjec
 
   @Override
   public void endObjectValue(JsonNode.JsonObject object, String name) {
-    object.add(name, value);
+    object.add(KeyCache.get(name), value);
   }
 
   JsonNode getValue() {
     return value;
   }
+
+  static JsonNode number(String string) {
+    if (NumberParser.isLong(string)) {
+      return new JsonNode.JsonLong(Long.parseLong(string));
+    }
+    return new JsonNode.JsonRawNumber(string);
+  }
 }
@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2020-2026, Antonio Gabriel Muñoz Conejo <me at tonivade dot es>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.purejson;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * {@link JsonInput} backed by a {@link String}. The characters are read in place, without copying
+ * them to a buffer, and strings without escape sequences are created directly from the input.
+ */
+final class StringInput extends JsonInput {
+
+  private final String json;
+  private final int limit;
+
+  private int position;
+
+  StringInput(String json) {
+    this(json, new StringBuilder());
+  }
+
+  StringInput(String json, StringBuilder scratch) {
+    super(scratch);
+    this.json = json;
+    this.limit = json.length();
+  }
+
+  @Override
+  int peek() {
+    return position < limit ? json.charAt(position) : -1;
+  }
+
+  @Override
+  int read() {
+    return position < limit ? json.charAt(position++) : -1;
+  }
+
+  @Override
+  int peekNonWhitespace() {
+    while (position < limit) {
+      char c = json.charAt(position);
+      if (!isWhitespace(c)) {
+        return c;
+      }
+      if (c == '\n' && singleLine) {
+        throw syntaxError("unexpected end of line");
+      }
+      position++;
+    }
+    return -1;
+  }
+
+  @Override
+  String readString() {
+    StringBuilder builder = null;
+    int start = position;
+    while (true) {
+      if (position == limit) {
+        throw syntaxError("unterminated string");
+      }
+      char c = json.charAt(position++);
+      if (c == '"') {
+        if (builder == null) {
+          return json.substring(start, position - 1);
+        }
+        return append(builder, start, position - 1).toString();
+      }
+      if (c == '\\') {
+        builder = append(builder, start, position - 1);
+        builder.append(readEscape());
+        start = position;
+      } else if (c < 0x20) {
+        position--;
+        throw syntaxError("unescaped control character in string");
+      }
+    }
+  }
+
+  @Override
+  String readName() {
+    // fast path, the name has no escape sequences
+    for (int i = position; i < limit; i++) {
+      char c = json.charAt(i);
+      if (c == '"') {
+        var name = KeyCache.get(json, position, i);
+        position = i + 1;
+        return name;
+      }
+      if (c == '\\' || c < 0x20) {
+        break;
+      }
+    }
+    return super.readName();
+  }
+
+  @Override
+  int selectName(JsonReader.Options options) {
+    for (int i = position; i < limit; i++) {
+      char c = json.charAt(i);
+      if (c == '"') {
+        int index = options.find(json, position, i);
+        position = i + 1;
+        return index;
+      }
+      if (c == '\\' || c < 0x20) {
+        break;
+      }
+    }
+    return super.selectName(options);
+  }
+
+  @Override
+  void skipString() {
+    while (true) {
+      if (position == limit) {
+        throw syntaxError("unterminated string");
+      }
+      char c = json.charAt(position++);
+      if (c == '"') {
+        return;
+      }
+      if (c == '\\') {
+        readEscape();
+      } else if (c < 0x20) {
+        position--;
+        throw syntaxError("unescaped control character in string");
+      }
+    }
+  }
+
+  @Override
+  long position() {
+    return position;
+  }
+
+  @Override
+  public void close() {
+    // nothing to release
+  }
+
+  private StringBuilder append(@Nullable StringBuilder builder, int start, int end) {
+    var result = builder != null ? builder : scratch();
+    return result.append(json, start, end);
+  }
+}
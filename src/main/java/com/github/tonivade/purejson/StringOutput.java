@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2020-2026, Antonio Gabriel Muñoz Conejo <me at tonivade dot es>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.purejson;
+
+/**
+ * {@link JsonOutput} that writes into a {@link StringBuilder}.
+ */
+final class StringOutput extends JsonOutput {
+
+  private final StringBuilder builder;
+
+  StringOutput(StringBuilder builder) {
+    this.builder = builder;
+  }
+
+  @Override
+  void write(char c) {
+    builder.append(c);
+  }
+
+  @Override
+  void write(String value, int start, int end) {
+    builder.append(value, start, end);
+  }
+
+  @Override
+  public void flush() {
+    // nothing to do
+  }
+
+  @Override
+  public void close() {
+    // nothing to do
+  }
+
+  @Override
+  public String toString() {
+    return builder.toString();
+  }
+}
@@ -0,0 +1,252 @@
+/*
+ * Copyright (c) 2020-2026, Antonio Gabriel Muñoz Conejo <me at tonivade dot es>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.purejson;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact index of the structure of a json document. Each value is an entry of the tape with its
+ * type and the offsets of its content in the original input. Containers store the number of
+ * children and the index of the next entry after the container, so any value can be skipped in
+ * constant time.
+ *
+ * <p>Values are created only when they are needed by {@link JsonNode.JsonObject} and
+ * {@link JsonNode.JsonArray}, the rest of the document is never materialized. Lazy values keep a
+ * reference to the tape, and so to the whole input, until they are materialized, so a small value
+ * retained from a big document keeps all the document in memory.
+ */
+final class Tape {
+
+  /**
+   * Objects with more fields than this are indexed by name the first time a field is searched, the
+   * smaller ones are scanned.
+   */
+  static final int MAX_SCANNED_FIELDS = 8;
+
+  private static final byte OBJECT = 1;
+  private static final byte ARRAY = 2;
+  private static final byte STRING = 3;
+  private static final byte NUMBER = 4;
+  private static final byte TRUE = 5;
+  private static final byte FALSE = 6;
+  private static final byte NULL = 7;
+
+  private final String source;
+
+  private byte[] types = new byte[16];
+  // offset of the content for strings and numbers, number of children for containers
+  private int[] starts = new int[16];
+  // end of the content for strings and numbers, index of the next entry for containers
+  private int[] ends = new int[16];
+  private int size;
+
+  private Tape(String source) {
+    this.source = source;
+  }
+
+  /**
+   * Validates the whole document but only builds the index of its values.
+   *
+   * @param json
+   * @return the root value
+   */
+  static JsonNode parse(String json) {
+    var tape = new Tape(json);
+    var input = new StringInput(json);
+    var reader = new JsonReader(input);
+    tape.value(reader, input);
+    reader.endDocument();
+    return tape.node(0);
+  }
+
+  int size(int index) {
+    return starts[index];
+  }
+
+  /**
+   * @param index of an array
+   * @return the indexes of all the items
+   */
+  int[] items(int index) {
+    var items = new int[starts[index]];
+    int current = index + 1;
+    for (int i = 0; i < items.length; i++) {
+      items[i] = current;
+      current = next(current);
+    }
+    return items;
+  }
+
+  /**
+   * Finds the value of a field without creating any value. If the name is repeated the last value
+   * is returned, same as a materialized object.
+   *
+   * @param index of an object
+   * @param name
+   * @return the index of the value, or -1 if not found
+   */
+  int find(int index, String name) {
+    int found = -1;
+    int current = index + 1;
+    for (int i = 0; i < starts[index]; i++) {
+      if (matches(current, name)) {
+        found = current + 1;
+      }
+      current = next(current + 1);
+    }
+    return found;
+  }
+
+  /**
+   * @param index of an object
+   * @return the index of the value of each name, the last one if the name is repeated
+   */
+  Map<String, Integer> names(int index) {
+    var names = new HashMap<String, Integer>(starts[index] * 2);
+    int current = index + 1;
+    for (int i = 0; i < starts[index]; i++) {
+      names.put(KeyCache.get(string(current)), current + 1);
+      current = next(current + 1);
+    }
+    return names;
+  }
+
+  Map<String, JsonNode> fields(int index) {
+    var fields = new LinkedHashMap<String, JsonNode>(starts[index] * 2);
+    int current = index + 1;
+    for (int i = 0; i < starts[index]; i++) {
+      fields.put(KeyCache.get(string(current)), node(current + 1));
+      current = next(current + 1);
+    }
+    return fields;
+  }
+
+  List<JsonNode> values(int index) {
+    var values = new ArrayList<JsonNode>(starts[index]);
+    int current = index + 1;
+    for (int i = 0; i < starts[index]; i++) {
+      values.add(node(current));
+      current = next(current);
+    }
+    return values;
+  }
+
+  JsonNode node(int index) {
+    return switch (types[index]) {
+      case OBJECT -> new JsonNode.JsonObject(this, index);
+      case ARRAY -> new JsonNode.JsonArray(this, index);
+      case STRING -> new JsonNode.JsonString(string(index));
+      case NUMBER -> PureJsonHandler.number(source.substring(starts[index], ends[index]));
+      case TRUE -> JsonNode.TRUE;
+      case FALSE -> JsonNode.FALSE;
+      case NULL -> JsonNode.NULL;
+      default -> throw new IllegalStateException("invalid type " + types[index]);
+    };
+  }
+
+  private int next(int index) {
+    byte type = types[index];
+    return type == OBJECT || type == ARRAY ? ends[index] : index + 1;
+  }
+
+  private boolean matches(int index, String name) {
+    int start = starts[index];
+    int length = ends[index] - start;
+    if (hasEscapes(start, ends[index])) {
+      return string(index).equals(name);
+    }
+    return length == name.length() && source.regionMatches(start, name, 0, length);
+  }
+
+  private String string(int index) {
+    int start = starts[index];
+    int end = ends[index];
+    if (hasEscapes(start, end)) {
+      // the closing quote is needed by the input to find the end of the string
+      return new StringInput(source.substring(start, end + 1)).readString();
+    }
+    return source.substring(start, end);
+  }
+
+  private boolean hasEscapes(int start, int end) {
+    for (int i = start; i < end; i++) {
+      if (source.charAt(i) == '\\') {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private void value(JsonReader reader, JsonInput input) {
+    var token = reader.peek();
+    switch (token) {
+      case BEGIN_OBJECT -> {
+        int index = add(OBJECT, 0, 0);
+        int count = 0;
+        reader.beginObject();
+        while (reader.hasNext()) {
+          string(reader, input);
+          value(reader, input);
+          count++;
+        }
+        reader.endObject();
+        starts[index] = count;
+        ends[index] = size;
+      }
+      case BEGIN_ARRAY -> {
+        int index = add(ARRAY, 0, 0);
+        int count = 0;
+        reader.beginArray();
+        while (reader.hasNext()) {
+          value(reader, input);
+          count++;
+        }
+        reader.endArray();
+        starts[index] = count;
+        ends[index] = size;
+      }
+      case STRING -> string(reader, input);
+      case NUMBER -> {
+        int start = (int) input.position();
+        reader.skipValue();
+        add(NUMBER, start, (int) input.position());
+      }
+      case BOOLEAN -> add(reader.nextBoolean() ? TRUE : FALSE, 0, 0);
+      case NULL -> {
+        reader.nextNull();
+        add(NULL, 0, 0);
+      }
+      case END_ARRAY, END_OBJECT, NAME, END_DOCUMENT ->
+        throw new IllegalStateException("expected a value but was " + token);
+    }
+  }
+
+  /**
+   * Names and strings, the opening quote is already consumed when the token is peeked.
+   */
+  private void string(JsonReader reader, JsonInput input) {
+    reader.peek();
+    int start = (int) input.position();
+    reader.skipValue();
+    add(STRING, start, (int) input.position() - 1);
+  }
+
+  private int add(byte type, int start, int end) {
+    if (size == types.length) {
+      types = Arrays.copyOf(types, size * 2);
+      starts = Arrays.copyOf(starts, size * 2);
+      ends = Arrays.copyOf(ends, size * 2);
+    }
+    types[size] = type;
+    starts[size] = start;
+    ends[size] = end;
+    return size++;
+  }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2020-2026, Antonio Gabriel Muñoz Conejo <me at tonivade dot es>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.purejson;
+
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.jspecify.annotations.Nullable;
+
+import com.github.tonivade.purefun.core.Function1;
+
+/**
+ * Thread safe cache of values resolved for a {@link Type}.
+ *
+ * <p>Entries are stored in a {@link ClassValue} attached to the most specific class referenced
+ * by the type, so they are released when the class loader of that class is unloaded. Types are
+ * compared structurally, so two {@code ParameterizedType} instances created by different
+ * {@code TypeToken}s share the same entry.
+ *
+ * @param <V>
+ */
+final class TypeCache<V> {
+
+  private final ClassValue<ConcurrentMap<Object, V>> cache = new ClassValue<>() {
+    @Override
+    protected ConcurrentMap<Object, V> computeValue(Class<?> type) {
+      return new ConcurrentHashMap<>();
+    }
+  };
+
+  /**
+   * Returns the cached value for the given type, or else it creates a new one using the given
+   * factory. The factory is called outside of any lock, so it's safe to resolve nested types
+   * recursively through the same cache. If two threads race, only the first value is kept.
+   *
+   * @param type
+   * @param factory
+   * @return
+   */
+  V get(Type type, Function1<Type, ? extends V> factory) {
+    var values = cache.get(ownerOf(type));
+    var key = keyOf(type);
+    var value = values.get(key);
+    if (value == null) {
+      V newValue = factory.apply(type);
+      var previous = values.putIfAbsent(key, newValue);
+      return previous != null ? previous : newValue;
+    }
+    return value;
+  }
+
+  /**
+   * @param type
+   * @return true if there is a value cached for the given type
+   */
+  boolean contains(Type type) {
+    return cache.get(ownerOf(type)).containsKey(keyOf(type));
+  }
+
+  private static Class<?> ownerOf(Type type) {
+    var owner = findOwner(type);
+    return owner != null ? owner : Object.class;
+  }
+
+  @Nullable
+  private static Class<?> findOwner(Type type) {
+    if (type instanceof Class<?> clazz) {
+      while (clazz.isArray()) {
+        clazz = clazz.getComponentType();
+      }
+      return clazz;
+    }
+    if (type instanceof ParameterizedType parameterizedType) {
+      var rawType = findOwner(parameterizedType.getRawType());
+      if (rawType != null && rawType.getClassLoader() != null) {
+        return rawType;
+      }
+      for (var argument : parameterizedType.getActualTypeArguments()) {
+        var owner = findOwner(argument);
+        if (owner != null && owner.getClassLoader() != null) {
+          return owner;
+        }
+      }
+      return rawType;
+    }
+    if (type instanceof GenericArrayType genericArrayType) {
+      return findOwner(genericArrayType.getGenericComponentType());
+    }
+    return null;
+  }
+
+  private static Object keyOf(Type type) {
+    if (type instanceof ParameterizedType parameterizedType) {
+      var ownerType = parameterizedType.getOwnerType();
+      return new ParameterizedKey(
+          ownerType != null ? keyOf(ownerType) : null,
+          keyOf(parameterizedType.getRawType()),
+          keysOf(parameterizedType.getActualTypeArguments()));
+    }
+    if (type instanceof GenericArrayType genericArrayType) {
+      return new GenericArrayKey(keyOf(genericArrayType.getGenericComponentType()));
+    }
+    if (type instanceof WildcardType wildcardType) {
+      return new WildcardKey(
+          keysOf(wildcardType.getUpperBounds()), keysOf(wildcardType.getLowerBounds()));
+    }
+    return type;
+  }
+
+  private static List<Object> keysOf(Type[] types) {
+    return Arrays.stream(types).map(TypeCache::keyOf).toList();
+  }
+
+  private record ParameterizedKey(@Nullable Object owner, Object rawType, List<Object> arguments) {}
+
+  private record GenericArrayKey(Object componentType) {}
+
+  private record WildcardKey(List<Object> upperBounds, List<Object> lowerBounds) {}
+}
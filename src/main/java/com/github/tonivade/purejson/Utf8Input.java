@@ -0,0 +1,395 @@
+/*
+ * Copyright (c) 2020-2026, Antonio Gabriel Muñoz Conejo <me at tonivade dot es>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.purejson;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * {@link JsonInput} that works directly with UTF-8 encoded bytes. Structural characters and
+ * numbers are always ascii, so only the content of the strings needs to be decoded, and that only
+ * happens when the value is read, skipped strings are never decoded.
+ *
+ * <p>When it's backed by an array the bytes are used as they are, without any copy. Otherwise only
+ * a fixed size buffer is kept in memory.
+ */
+final class Utf8Input extends JsonInput {
+
+  private static final int DEFAULT_BUFFER_SIZE = 8192;
+
+  @Nullable
+  private final InputStream input;
+  private final byte[] buffer;
+
+  private int position;
+  private int limit;
+  private long offset;
+
+  Utf8Input(byte[] bytes) {
+    this(bytes, 0, bytes.length);
+  }
+
+  Utf8Input(byte[] bytes, int start, int end) {
+    this(bytes, start, end, new StringBuilder());
+  }
+
+  Utf8Input(byte[] bytes, int start, int end, StringBuilder scratch) {
+    super(scratch);
+    this.input = null;
+    this.buffer = bytes;
+    this.position = start;
+    this.limit = end;
+    this.offset = -start;
+  }
+
+  Utf8Input(InputStream input) {
+    this(input, DEFAULT_BUFFER_SIZE);
+  }
+
+  Utf8Input(InputStream input, int bufferSize) {
+    this(input, new byte[bufferSize], new StringBuilder());
+  }
+
+  Utf8Input(InputStream input, byte[] buffer, StringBuilder scratch) {
+    super(scratch);
+    this.input = input;
+    this.buffer = buffer;
+  }
+
+  /**
+   * Heap buffers are read in place, other buffers are copied in chunks. The position of the given
+   * buffer is not modified.
+   *
+   * @param buffer
+   * @return
+   */
+  static Utf8Input of(ByteBuffer buffer) {
+    if (buffer.hasArray()) {
+      int start = buffer.arrayOffset() + buffer.position();
+      return new Utf8Input(buffer.array(), start, start + buffer.remaining());
+    }
+    return new Utf8Input(new ByteBufferInputStream(List.of(buffer.duplicate())),
+        Math.max(16, Math.min(buffer.remaining(), DEFAULT_BUFFER_SIZE)));
+  }
+
+  /**
+   * Reads the remaining bytes of all the buffers, one after the other, as a single input. Off heap
+   * buffers, like mapped files, are copied in chunks to a fixed size buffer, so the input is never
+   * fully loaded in the heap.
+   *
+   * @param buffers
+   * @return
+   */
+  static Utf8Input of(List<ByteBuffer> buffers) {
+    if (buffers.size() == 1) {
+      return of(buffers.get(0));
+    }
+    return new Utf8Input(new ByteBufferInputStream(buffers.stream().map(ByteBuffer::duplicate).toList()));
+  }
+
+  /**
+   * @param position of the next byte in the whole input, the positions of the errors are relative
+   *        to it
+   * @return this input
+   */
+  Utf8Input startingAt(long position) {
+    this.offset = position - this.position;
+    return this;
+  }
+
+  @Override
+  int peek() {
+    if (position == limit && !fill()) {
+      return -1;
+    }
+    return buffer[position] & 0xff;
+  }
+
+  @Override
+  int read() {
+    if (position == limit && !fill()) {
+      return -1;
+    }
+    return buffer[position++] & 0xff;
+  }
+
+  @Override
+  int peekNonWhitespace() {
+    while (position < limit || fill()) {
+      int c = buffer[position] & 0xff;
+      if (!isWhitespace(c)) {
+        return c;
+      }
+      if (c == '\n' && singleLine) {
+        throw syntaxError("unexpected end of line");
+      }
+      position++;
+    }
+    return -1;
+  }
+
+  @Override
+  String readString() {
+    // fast path, the whole string is in the buffer and has no escape sequences
+    int end = scanString(position);
+    if (end < limit && buffer[end] == '"') {
+      var value = new String(buffer, position, end - position, UTF_8);
+      position = end + 1;
+      return value;
+    }
+    return readStringSlow();
+  }
+
+  @Override
+  String readName() {
+    int end = scanString(position);
+    if (end < limit && buffer[end] == '"') {
+      var name = KeyCache.get(buffer, position, end);
+      position = end + 1;
+      return name;
+    }
+    return super.readName();
+  }
+
+  @Override
+  int selectName(JsonReader.Options options) {
+    int end = scanString(position);
+    if (end < limit && buffer[end] == '"') {
+      int index = options.find(buffer, position, end);
+      if (index >= -1) {
+        position = end + 1;
+        return index;
+      }
+    }
+    return super.selectName(options);
+  }
+
+  @Override
+  void skipString() {
+    while (true) {
+      if (position == limit && !fill()) {
+        throw syntaxError("unterminated string");
+      }
+      position = scanString(position);
+      if (position == limit) {
+        continue;
+      }
+      byte b = buffer[position++];
+      if (b == '"') {
+        return;
+      }
+      if (b == '\\') {
+        readEscape();
+      } else if (b < 0) {
+        // invalid, or split between two fills of the buffer
+        readCodePoint(b & 0xff);
+      } else {
+        position--;
+        throw syntaxError("unescaped control character in string");
+      }
+    }
+  }
+
+  @Override
+  long position() {
+    return offset + position;
+  }
+
+  @Override
+  public void close() {
+    if (input != null) {
+      try {
+        input.close();
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+  }
+
+  /**
+   * Same as {@link ByteScanner#scanString(byte[], int, int)} but it also stops at the first invalid
+   * or incomplete multi-byte sequence, so the bytes before the returned index are valid UTF-8 and
+   * they can be decoded without replacements. Invalid sequences are always decoded and reported by
+   * {@link #readCodePoint(int)}, whatever the path used to read the string.
+   *
+   * @param start
+   * @return
+   */
+  private int scanString(int start) {
+    int end = ByteScanner.INSTANCE.scanString(buffer, start, limit);
+    int i = start;
+    while (i < end) {
+      if (buffer[i] >= 0) {
+        i++;
+      } else {
+        int next = sequenceEnd(i, end);
+        if (next < 0) {
+          return i;
+        }
+        i = next;
+      }
+    }
+    return end;
+  }
+
+  /**
+   * @return the index after the multi-byte sequence that starts at the given index, or -1 if it's
+   *         invalid or it doesn't end before {@code end}
+   */
+  private int sequenceEnd(int index, int end) {
+    int first = buffer[index] & 0xff;
+    int length;
+    int min;
+    if (first >= 0xc2 && first <= 0xdf) {
+      length = 2;
+      min = 0x80;
+    } else if (first >= 0xe0 && first <= 0xef) {
+      length = 3;
+      min = 0x800;
+    } else if (first >= 0xf0 && first <= 0xf4) {
+      length = 4;
+      min = 0x10000;
+    } else {
+      return -1;
+    }
+    if (end - index < length) {
+      return -1;
+    }
+    int codePoint = first & (0x7f >> length);
+    for (int i = index + 1; i < index + length; i++) {
+      int c = buffer[i] & 0xff;
+      if ((c & 0xc0) != 0x80) {
+        return -1;
+      }
+      codePoint = (codePoint << 6) | (c & 0x3f);
+    }
+    if (codePoint < min || codePoint > Character.MAX_CODE_POINT
+        || (length == 3 && Character.isSurrogate((char) codePoint))) {
+      return -1;
+    }
+    return index + length;
+  }
+
+  private String readStringSlow() {
+    var builder = scratch();
+    while (true) {
+      int c = read();
+      if (c == '"') {
+        return builder.toString();
+      }
+      if (c == '\\') {
+        builder.append(readEscape());
+      } else if (c == -1) {
+        throw syntaxError("unterminated string");
+      } else if (c < 0x20) {
+        position--;
+        throw syntaxError("unescaped control character in string");
+      } else if (c < 0x80) {
+        builder.append((char) c);
+      } else {
+        builder.appendCodePoint(readCodePoint(c));
+      }
+    }
+  }
+
+  private int readCodePoint(int first) {
+    if (first >= 0xc2 && first <= 0xdf) {
+      return ((first & 0x1f) << 6) | readContinuation();
+    }
+    if (first >= 0xe0 && first <= 0xef) {
+      int codePoint = ((first & 0x0f) << 12) | (readContinuation() << 6) | readContinuation();
+      if (codePoint < 0x800 || Character.isSurrogate((char) codePoint)) {
+        throw syntaxError("invalid utf-8 sequence");
+      }
+      return codePoint;
+    }
+    if (first >= 0xf0 && first <= 0xf4) {
+      int codePoint = ((first & 0x07) << 18) | (readContinuation() << 12)
+          | (readContinuation() << 6) | readContinuation();
+      if (codePoint < 0x10000 || codePoint > Character.MAX_CODE_POINT) {
+        throw syntaxError("invalid utf-8 sequence");
+      }
+      return codePoint;
+    }
+    throw syntaxError("invalid utf-8 sequence");
+  }
+
+  private int readContinuation() {
+    int c = readInString();
+    if ((c & 0xc0) != 0x80) {
+      throw syntaxError("invalid utf-8 sequence");
+    }
+    return c & 0x3f;
+  }
+
+  private boolean fill() {
+    if (input == null) {
+      return false;
+    }
+    offset += limit;
+    position = 0;
+    limit = 0;
+    try {
+      int read;
+      do {
+        read = input.read(buffer, 0, buffer.length);
+      } while (read == 0);
+      if (read < 0) {
+        return false;
+      }
+      limit = read;
+      return true;
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static final class ByteBufferInputStream extends InputStream {
+
+    private final List<ByteBuffer> buffers;
+
+    private int current;
+
+    private ByteBufferInputStream(List<ByteBuffer> buffers) {
+      this.buffers = buffers;
+    }
+
+    @Override
+    public int read() {
+      var buffer = nextBuffer();
+      return buffer != null ? buffer.get() & 0xff : -1;
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length) {
+      var buffer = nextBuffer();
+      if (buffer == null) {
+        return -1;
+      }
+      int count = Math.min(length, buffer.remaining());
+      buffer.get(bytes, offset, count);
+      return count;
+    }
+
+    @Nullable
+    private ByteBuffer nextBuffer() {
+      while (current < buffers.size()) {
+        var buffer = buffers.get(current);
+        if (buffer.hasRemaining()) {
+          return buffer;
+        }
+        current++;
+      }
+      return null;
+    }
+  }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2020-2026, Antonio Gabriel Muñoz Conejo <me at tonivade dot es>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.purejson;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+
+/**
+ * {@link JsonOutput} that encodes the characters as UTF-8 bytes and writes them into an
+ * {@link OutputStream} or a {@link ByteBuffer}, using a fixed size buffer.
+ */
+final class Utf8Output extends JsonOutput {
+
+  private static final int DEFAULT_BUFFER_SIZE = 8192;
+
+  private final OutputStream output;
+  private final byte[] buffer;
+
+  private int position;
+
+  Utf8Output(OutputStream output) {
+    this.output = output;
+    this.buffer = new byte[DEFAULT_BUFFER_SIZE];
+  }
+
+  Utf8Output(ByteBuffer output) {
+    this(new ByteBufferOutputStream(output));
+  }
+
+  @Override
+  void write(char c) {
+    if (position == buffer.length) {
+      drain();
+    }
+    buffer[position++] = (byte) c;
+  }
+
+  @Override
+  void write(String value, int start, int end) {
+    for (int i = start; i < end; i++) {
+      // a code point needs 4 bytes at most
+      if (buffer.length - position < 4) {
+        drain();
+      }
+      char c = value.charAt(i);
+      if (c < 0x80) {
+        buffer[position++] = (byte) c;
+      } else if (c < 0x800) {
+        buffer[position++] = (byte) (0xc0 | (c >> 6));
+        buffer[position++] = (byte) (0x80 | (c & 0x3f));
+      } else if (Character.isHighSurrogate(c) && i + 1 < end && Character.isLowSurrogate(value.charAt(i + 1))) {
+        int codePoint = Character.toCodePoint(c, value.charAt(++i));
+        buffer[position++] = (byte) (0xf0 | (codePoint >> 18));
+        buffer[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3f));
+        buffer[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3f));
+        buffer[position++] = (byte) (0x80 | (codePoint & 0x3f));
+      } else if (Character.isSurrogate(c)) {
+        // malformed surrogate pair, same replacement used by the jdk encoder
+        buffer[position++] = '?';
+      } else {
+        buffer[position++] = (byte) (0xe0 | (c >> 12));
+        buffer[position++] = (byte) (0x80 | ((c >> 6) & 0x3f));
+        buffer[position++] = (byte) (0x80 | (c & 0x3f));
+      }
+    }
+  }
+
+  @Override
+  public void flush() {
+    drain();
+    try {
+      output.flush();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  @Override
+  public void close() {
+    drain();
+    try {
+      output.close();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private void drain() {
+    try {
+      output.write(buffer, 0, position);
+      position = 0;
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static final class ByteBufferOutputStream extends OutputStream {
+
+    private final ByteBuffer buffer;
+
+    private ByteBufferOutputStream(ByteBuffer buffer) {
+      this.buffer = buffer;
+    }
+
+    @Override
+    public void write(int b) {
+      buffer.put((byte) b);
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) {
+      buffer.put(bytes, offset, length);
+    }
+  }
+}
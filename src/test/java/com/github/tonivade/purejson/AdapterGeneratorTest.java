@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2020-2026, Antonio Gabriel Muñoz Conejo <me at tonivade dot es>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.purejson;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.StringWriter;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class AdapterGeneratorTest {
+
+  public record User(int id, String name, boolean active, double score, List<String> roles) {}
+
+  private record Hidden(int id) {}
+
+  @Test
+  void generated() {
+    var adapter = AdapterGenerator.generate(User.class).getOrElseThrow();
+    var user = new User(1, "toni", true, 1.5, List.of("admin"));
+
+    var json = adapter.encode(user);
+    var writer = new StringWriter();
+    var output = new JsonWriter(writer);
+    adapter.encode(user, output);
+    output.flush();
+
+    assertAll(
+        () -> assertTrue(adapter.getClass().isHidden()),
+        () -> assertEquals(
+            "{\"id\":1,\"name\":\"toni\",\"active\":true,\"score\":1.5,\"roles\":[\"admin\"]}", json.toString()),
+        () -> assertEquals(json.toString(), writer.toString()),
+        () -> assertEquals(user, adapter.decode(json)),
+        () -> assertEquals(user, adapter.decode(new JsonReader(json.toString()))),
+        () -> assertEquals(new User(2, "pepe", false, 0.0, List.of()),
+            adapter.decode(new JsonReader("{\"extra\":{},\"roles\":[],\"score\":0,\"name\":\"pepe\",\"id\":2}"))),
+        () -> assertThrows(IllegalArgumentException.class, () -> adapter.decode(new JsonReader("[]"))));
+  }
+
+  @Test
+  void nullSafe() {
+    var adapter = JsonAdapter.adapter(User.class);
+
+    assertAll(
+        () -> assertNull(adapter.decode(JsonNode.NULL)),
+        () -> assertEquals(JsonNode.NULL, adapter.encode(null)));
+  }
+
+  @Test
+  void notAccessible() {
+    var adapter = JsonAdapter.adapter(Hidden.class);
+
+    assertAll(
+        () -> assertFalse(AdapterGenerator.generate(Hidden.class).isPresent()),
+        () -> assertFalse(AdapterGenerator.generate(String.class).isPresent()),
+        () -> assertEquals(new Hidden(1), adapter.decode(new JsonReader("{\"id\":1}"))));
+  }
+}
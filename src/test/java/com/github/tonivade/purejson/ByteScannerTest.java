@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) 2020-2026, Antonio Gabriel Muñoz Conejo <me at tonivade dot es>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.purejson;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class ByteScannerTest {
+
+  private static final byte[] SPECIAL = { '"', '\\', 0, '\n', 0x1f };
+
+  @Test
+  void vectorScanner() {
+    // only required by the vectorTest task, that enables the incubator module
+    assumeTrue(Boolean.getBoolean("purejson.vector.required"));
+
+    assertEquals(ByteScannerModule.VECTOR_SCANNER, ByteScanner.INSTANCE.getClass().getName());
+  }
+
+  @Test
+  void sameAsScalar() {
+    var random = new Random(42);
+    for (int i = 0; i < 1_000; i++) {
+      var buffer = new byte[random.nextInt(300)];
+      for (int j = 0; j < buffer.length; j++) {
+        buffer[j] = (byte) (random.nextInt(224) + 0x20);
+      }
+      if (buffer.length > 0 && random.nextBoolean()) {
+        buffer[random.nextInt(buffer.length)] = SPECIAL[random.nextInt(SPECIAL.length)];
+      }
+      int start = buffer.length > 0 ? random.nextInt(buffer.length) : 0;
+
+      assertEquals(
+          ByteScanner.scalarScanString(buffer, start, buffer.length),
+          ByteScanner.INSTANCE.scanString(buffer, start, buffer.length));
+    }
+  }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2020-2026, Antonio Gabriel Muñoz Conejo <me at tonivade dot es>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.purejson;
+
+import static com.github.tonivade.purejson.JsonDSL.string;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+class EnumAdapterTest {
+
+  enum Status { ACTIVE, INACTIVE, @JsonEnumDefaultValue UNKNOWN }
+
+  enum Color { RED, GREEN, BLUE }
+
+  @Test
+  void encode() {
+    var adapter = JsonAdapter.adapter(Color.class);
+    var output = new StringWriter();
+    var writer = new JsonWriter(output);
+    writer.beginArray();
+    adapter.encode(Color.RED, writer);
+    adapter.encode(Color.BLUE, writer);
+    writer.endArray().flush();
+
+    assertAll(
+        () -> assertEquals(string("GREEN"), adapter.encode(Color.GREEN)),
+        () -> assertSame(adapter.encode(Color.GREEN), adapter.encode(Color.GREEN)),
+        () -> assertEquals("[\"RED\",\"BLUE\"]", output.toString()));
+  }
+
+  @Test
+  void decode() {
+    var adapter = JsonAdapter.adapter(Color.class);
+
+    assertAll(
+        () -> assertEquals(Color.GREEN, adapter.decode(new JsonReader("\"GREEN\""))),
+        () -> assertEquals(Color.GREEN, adapter.decode(new JsonReader("\"GREEN\"".getBytes(StandardCharsets.UTF_8)))),
+        () -> assertEquals(Color.BLUE, adapter.decode(new JsonReader("\"\\u0042LUE\""))),
+        () -> assertEquals(Color.RED, adapter.decode(string("RED"))),
+        () -> assertNull(adapter.decode(new JsonReader("null"))),
+        () -> assertThrows(IllegalArgumentException.class, () -> adapter.decode(new JsonReader("\"PINK\""))),
+        () -> assertThrows(IllegalArgumentException.class, () -> adapter.decode(string("PINK"))),
+        () -> assertThrows(IllegalArgumentException.class, () -> adapter.decode(new JsonReader("1"))));
+  }
+
+  @Test
+  void unknownValues() {
+    var annotated = JsonAdapter.adapter(Status.class);
+    var withNull = JsonDecoder.enumDecoder(Color.class, null);
+    var withFallback = JsonDecoder.enumDecoder(Color.class, Color.RED);
+    var reader = new JsonReader("[\"PINK\",\"GREEN\"]");
+    reader.beginArray();
+
+    assertAll(
+        () -> assertEquals(Status.UNKNOWN, annotated.decode(new JsonReader("\"DELETED\""))),
+        () -> assertEquals(Status.UNKNOWN, annotated.decode(string("DELETED"))),
+        () -> assertEquals(Status.ACTIVE, annotated.decode(new JsonReader("\"ACTIVE\""))),
+        () -> assertNull(withNull.decode(new JsonReader("\"PINK\""))),
+        () -> assertEquals(Color.RED, withFallback.decode(string("PINK"))),
+        () -> assertEquals(Color.RED, withFallback.decode(reader)),
+        () -> assertEquals(Color.GREEN, withFallback.decode(reader)));
+  }
+}
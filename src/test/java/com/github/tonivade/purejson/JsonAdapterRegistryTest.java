@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2020-2026, Antonio Gabriel Muñoz Conejo <me at tonivade dot es>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.purejson;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+
+class JsonAdapterRegistryTest {
+
+  record Item(Integer id, String name) {}
+
+  // only used by warmUp, so they are not cached by other tests
+  record Line(Integer id, String name) {}
+
+  record Order(List<Line> lines) {}
+
+  interface Unsupported {}
+
+  @Test
+  void warmUp() {
+    var listOfLines = new TypeToken<List<Line>>() {}.getType();
+    var registry = JsonAdapterRegistry.of(Order.class).register(listOfLines);
+    List<Type> types = List.of(Order.class, Line.class, listOfLines);
+
+    assertAll(types.stream().<Executable>map(type -> () -> assertAll(
+        () -> assertFalse(JsonAdapterModule.CACHE.contains(type)),
+        () -> assertFalse(JsonEncoderModule.CACHE.contains(type)),
+        () -> assertFalse(JsonDecoderModule.CACHE.contains(type)))));
+
+    var result = registry.warmUp();
+
+    assertAll(
+        () -> assertTrue(result.isSuccess()),
+        () -> assertEquals(List.of(Order.class, listOfLines), registry.types()),
+        () -> assertTrue(JsonAdapterModule.CACHE.contains(Order.class)),
+        () -> assertTrue(JsonAdapterModule.CACHE.contains(new TypeToken<List<Line>>() {}.getType())),
+        // nested types are resolved by the encoders and decoders of the registered types
+        () -> assertAll(types.stream().<Executable>map(type -> () -> assertAll(
+            () -> assertTrue(JsonEncoderModule.CACHE.contains(type)),
+            () -> assertTrue(JsonDecoderModule.CACHE.contains(type))))));
+  }
+
+  @Test
+  void warmUpAsync() throws InterruptedException, ExecutionException {
+    var elapsed = JsonAdapterRegistry.of(Item.class).warmUpAsync().get();
+
+    assertFalse(elapsed.isNegative());
+  }
+
+  @Test
+  void failures() {
+    var registry = JsonAdapterRegistry.of(Unsupported.class, Item.class, Unsupported[].class);
+
+    var result = registry.warmUp();
+    var future = registry.warmUpAsync();
+
+    assertAll(
+        () -> assertTrue(result.isFailure()),
+        () -> assertInstanceOf(IllegalStateException.class, result.getCause()),
+        () -> assertEquals(1, result.getCause().getSuppressed().length),
+        () -> assertThrows(ExecutionException.class, future::get));
+  }
+}
@@ -33,6 +33,8 @@ class JsonAnnotationProcessorTest {
             import com.github.tonivade.purejson.JsonAdapter;
             import com.github.tonivade.purejson.JsonDSL;
             import com.github.tonivade.purejson.JsonNode;
+            import com.github.tonivade.purejson.JsonReader;
+            import com.github.tonivade.purejson.JsonWriter;
             import com.github.tonivade.purejson.TypeToken;
             import java.lang.Integer;
             import java.lang.Override;
@@ -46,6 +48,7 @@ class JsonAnnotationProcessorTest {
               private static final JsonAdapter<Integer> ID_ADAPTER = JsonAdapter.adapter(int.class);
               private static final JsonAdapter<String> NAME_ADAPTER = JsonAdapter.adapter(String.class);
               private static final JsonAdapter<List<String>> ROLES_ADAPTER = JsonAdapter.adapter(new TypeToken<List<String>>(){}.getType());
+              private static final JsonReader.Options NAMES = JsonReader.Options.of("id", "name", "roles");
 
               @Override
               public JsonNode encode(User value) {
@@ -55,6 +58,18 @@ class JsonAnnotationProcessorTest {
                 return JsonDSL.object(id, name, roles);
               }
 
+              @Override
+              public void encode(User value, JsonWriter writer) {
+                writer.beginObject();
+                writer.name("id");
+                ID_ADAPTER.encode(value.id(), writer);
+                writer.name("name");
+                NAME_ADAPTER.encode(value.name(), writer);
+                writer.name("roles");
+                ROLES_ADAPTER.encode(value.roles(), writer);
+                writer.endObject();
+              }
+
               @Override
               public User decode(JsonNode node) {
                 var object = node.asObject();
@@ -63,6 +78,187 @@ class JsonAnnotationProcessorTest {
                 var roles = ROLES_ADAPTER.decode(object.get("roles"));
                 return new User(id, name, roles);
               }
+
+              @Override
+              public User decode(JsonReader reader) {
+                Integer id = null;
+                String name = null;
+                List<String> roles = null;
+                reader.beginObject();
+                while (reader.hasNext()) {
+                  switch (reader.selectName(NAMES)) {
+                    case 0 -> id = ID_ADAPTER.decode(reader);
+                    case 1 -> name = NAME_ADAPTER.decode(reader);
+                    case 2 -> roles = ROLES_ADAPTER.decode(reader);
+                    default -> reader.skipValue();
+                  }
+                }
+                reader.endObject();
+                if (id == null) {
+                  id = 0;
+                }
+                return new User(id, name, roles);
+              }
+            }""");
+
+    assert_().about(javaSource()).that(file)
+        .processedWith(new JsonAnnotationProcessor())
+        .compilesWithoutError().and().generatesSources(expected);
+  }
+
+  @Test
+  void missingPrimitiveField() {
+    JavaFileObject file = forSourceLines("test.Counter",
+        """
+            package test;
+
+            import com.github.tonivade.purejson.Json;
+
+            @Json
+            public record Counter(String name, int count) {}""");
+
+    JavaFileObject expected = forSourceLines("test.CounterAdapter",
+        """
+            package test;
+
+            import com.github.tonivade.purejson.JsonAdapter;
+            import com.github.tonivade.purejson.JsonDSL;
+            import com.github.tonivade.purejson.JsonNode;
+            import com.github.tonivade.purejson.JsonReader;
+            import com.github.tonivade.purejson.JsonWriter;
+            import java.lang.Integer;
+            import java.lang.Override;
+            import java.lang.String;
+
+            public enum CounterAdapter implements JsonAdapter<Counter> {
+
+              INSTANCE;
+
+              private static final JsonAdapter<String> NAME_ADAPTER = JsonAdapter.adapter(String.class);
+              private static final JsonAdapter<Integer> COUNT_ADAPTER = JsonAdapter.adapter(int.class);
+              private static final JsonReader.Options NAMES = JsonReader.Options.of("name", "count");
+
+              @Override
+              public JsonNode encode(Counter value) {
+                var name = JsonDSL.entry("name", NAME_ADAPTER.encode(value.name()));
+                var count = JsonDSL.entry("count", COUNT_ADAPTER.encode(value.count()));
+                return JsonDSL.object(name, count);
+              }
+
+              @Override
+              public void encode(Counter value, JsonWriter writer) {
+                writer.beginObject();
+                writer.name("name");
+                NAME_ADAPTER.encode(value.name(), writer);
+                writer.name("count");
+                COUNT_ADAPTER.encode(value.count(), writer);
+                writer.endObject();
+              }
+
+              @Override
+              public Counter decode(JsonNode node) {
+                var object = node.asObject();
+                var name = NAME_ADAPTER.decode(object.get("name"));
+                var count = COUNT_ADAPTER.decode(object.get("count"));
+                return new Counter(name, count);
+              }
+
+              @Override
+              public Counter decode(JsonReader reader) {
+                String name = null;
+                Integer count = null;
+                reader.beginObject();
+                while (reader.hasNext()) {
+                  switch (reader.selectName(NAMES)) {
+                    case 0 -> name = NAME_ADAPTER.decode(reader);
+                    case 1 -> count = COUNT_ADAPTER.decode(reader);
+                    default -> reader.skipValue();
+                  }
+                }
+                reader.endObject();
+                if (count == null) {
+                  count = 0;
+                }
+                return new Counter(name, count);
+              }
+            }""");
+
+    assert_().about(javaSource()).that(file)
+        .processedWith(new JsonAnnotationProcessor())
+        .compilesWithoutError().and().generatesSources(expected);
+  }
+
+  @Test
+  void fieldNamedAsParameter() {
+    JavaFileObject file = forSourceLines("test.Loan",
+        """
+            package test;
+
+            import com.github.tonivade.purejson.Json;
+
+            @Json
+            public record Loan(String book, String reader) {}""");
+
+    JavaFileObject expected = forSourceLines("test.LoanAdapter",
+        """
+            package test;
+
+            import com.github.tonivade.purejson.JsonAdapter;
+            import com.github.tonivade.purejson.JsonDSL;
+            import com.github.tonivade.purejson.JsonNode;
+            import com.github.tonivade.purejson.JsonReader;
+            import com.github.tonivade.purejson.JsonWriter;
+            import java.lang.Override;
+            import java.lang.String;
+
+            public enum LoanAdapter implements JsonAdapter<Loan> {
+
+              INSTANCE;
+
+              private static final JsonAdapter<String> BOOK_ADAPTER = JsonAdapter.adapter(String.class);
+              private static final JsonAdapter<String> READER_ADAPTER = JsonAdapter.adapter(String.class);
+              private static final JsonReader.Options NAMES = JsonReader.Options.of("book", "reader");
+
+              @Override
+              public JsonNode encode(Loan value) {
+                var book = JsonDSL.entry("book", BOOK_ADAPTER.encode(value.book()));
+                var reader = JsonDSL.entry("reader", READER_ADAPTER.encode(value.reader()));
+                return JsonDSL.object(book, reader);
+              }
+
+              @Override
+              public void encode(Loan value, JsonWriter writer) {
+                writer.beginObject();
+                writer.name("book");
+                BOOK_ADAPTER.encode(value.book(), writer);
+                writer.name("reader");
+                READER_ADAPTER.encode(value.reader(), writer);
+                writer.endObject();
+              }
+
+              @Override
+              public Loan decode(JsonNode node) {
+                var object = node.asObject();
+                var book = BOOK_ADAPTER.decode(object.get("book"));
+                var reader = READER_ADAPTER.decode(object.get("reader"));
+                return new Loan(book, reader);
+              }
+
+              @Override
+              public Loan decode(JsonReader reader_) {
+                String book = null;
+                String reader = null;
+                reader_.beginObject();
+                while (reader_.hasNext()) {
+                  switch (reader_.selectName(NAMES)) {
+                    case 0 -> book = BOOK_ADAPTER.decode(reader_);
+                    case 1 -> reader = READER_ADAPTER.decode(reader_);
+                    default -> reader_.skipValue();
+                  }
+                }
+                reader_.endObject();
+                return new Loan(book, reader);
+              }
             }""");
 
     assert_().about(javaSource()).that(file)
@@ -136,6 +332,8 @@ class JsonAnnotationProcessorTest {
             import com.github.tonivade.purejson.JsonAdapter;
             import com.github.tonivade.purejson.JsonDSL;
             import com.github.tonivade.purejson.JsonNode;
+            import com.github.tonivade.purejson.JsonReader;
+            import com.github.tonivade.purejson.JsonWriter;
             import com.github.tonivade.purejson.TypeToken;
             import java.lang.Integer;
             import java.lang.Override;
@@ -149,6 +347,7 @@ class JsonAnnotationProcessorTest {
               private static final JsonAdapter<Integer> ID_ADAPTER = JsonAdapter.adapter(int.class);
               private static final JsonAdapter<String> NAME_ADAPTER = JsonAdapter.adapter(String.class);
               private static final JsonAdapter<List<String>> ROLES_ADAPTER = JsonAdapter.adapter(new TypeToken<List<String>>(){}.getType());
+              private static final JsonReader.Options NAMES = JsonReader.Options.of("id", "name", "roles");
 
               @Override
               public JsonNode encode(User value) {
@@ -158,6 +357,18 @@ class JsonAnnotationProcessorTest {
                 return JsonDSL.object(id, name, roles);
               }
 
+              @Override
+              public void encode(User value, JsonWriter writer) {
+                writer.beginObject();
+                writer.name("id");
+                ID_ADAPTER.encode(value.getId(), writer);
+                writer.name("name");
+                NAME_ADAPTER.encode(value.getName(), writer);
+                writer.name("roles");
+                ROLES_ADAPTER.encode(value.getRoles(), writer);
+                writer.endObject();
+              }
+
               @Override
               public User decode(JsonNode node) {
                 var object = node.asObject();
@@ -166,6 +377,27 @@ class JsonAnnotationProcessorTest {
                 var roles = ROLES_ADAPTER.decode(object.get("roles"));
                 return new User(id, name, roles);
               }
+
+              @Override
+              public User decode(JsonReader reader) {
+                Integer id = null;
+                String name = null;
+                List<String> roles = null;
+                reader.beginObject();
+                while (reader.hasNext()) {
+                  switch (reader.selectName(NAMES)) {
+                    case 0 -> id = ID_ADAPTER.decode(reader);
+                    case 1 -> name = NAME_ADAPTER.decode(reader);
+                    case 2 -> roles = ROLES_ADAPTER.decode(reader);
+                    default -> reader.skipValue();
+                  }
+                }
+                reader.endObject();
+                if (id == null) {
+                  id = 0;
+                }
+                return new User(id, name, roles);
+              }
             }""");
 
     assert_().about(javaSource()).that(file)
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2020-2026, Antonio Gabriel Muñoz Conejo <me at tonivade dot es>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.purejson;
+
+import static com.github.tonivade.purejson.JsonDSL.array;
+import static com.github.tonivade.purejson.JsonDSL.entry;
+import static com.github.tonivade.purejson.JsonDSL.number;
+import static com.github.tonivade.purejson.JsonDSL.object;
+import static com.github.tonivade.purejson.JsonDSL.string;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+class JsonContextTest {
+
+  @Test
+  void reuseBuffers() {
+    var context = new JsonContext();
+    var huge = "x\\n".repeat(100_000);
+
+    var first = context.parse("{\"a\": \"x\\ny\", \"b\": [1.5, 2]}").getOrElseThrow();
+    var second = context.parse(new StringReader("[\"" + huge + "\", -1.25]")).getOrElseThrow();
+    var third = context.parse("\"a\\tb\"".getBytes(StandardCharsets.UTF_8)).getOrElseThrow();
+    var fourth = context.parse(new ByteArrayInputStream("{\"c\": \"é\\u0041\"}".getBytes(StandardCharsets.UTF_8))).getOrElseThrow();
+
+    assertAll(
+        () -> assertEquals(object(entry("a", string("x\ny")), entry("b", array(number(1.5), number(2L)))), first),
+        () -> assertEquals(200_000, second.asArray().get(0).asString().length()),
+        () -> assertEquals(number(-1.25), second.asArray().get(1)),
+        () -> assertEquals(string("a\tb"), third),
+        () -> assertEquals(object(entry("c", string("éA"))), fourth));
+  }
+
+  @Test
+  void readStringInPlace() {
+    var context = new JsonContext();
+    var options = JsonReader.Options.of("id", "name");
+
+    var reader = context.reader("{\"skip\": \"a\\\"b\", \"name\": \"to\\u006ei\", \"id\": 1}");
+    reader.beginObject();
+    var skipped = reader.selectName(options);
+    reader.skipValue();
+    var name = reader.selectName(options);
+    var nameValue = reader.nextString();
+    var id = reader.nextName();
+    var idValue = reader.nextInt();
+    reader.endObject();
+
+    assertAll(
+        () -> assertEquals(-1, skipped),
+        () -> assertEquals(1, name),
+        () -> assertEquals("toni", nameValue),
+        () -> assertEquals("id", id),
+        () -> assertEquals(1, idValue));
+  }
+
+  @Test
+  void syntaxErrors() {
+    var context = new JsonContext();
+
+    var result = context.parse("[1, \"a\\n");
+
+    assertAll(
+        () -> assertTrue(result.isFailure()),
+        () -> assertTrue(result.getCause() instanceof JsonParseException),
+        () -> assertEquals(number(1L), context.parse("1").getOrElseThrow()));
+  }
+
+  @Test
+  void pooled() {
+    var results = IntStream.range(0, 1_000).parallel()
+        .mapToObj(i -> PureJson.parse(("{\"id\": " + i + ", \"name\": \"user\\t" + i + "\"}").getBytes(StandardCharsets.UTF_8)))
+        .map(result -> result.getOrElseThrow().asObject().get("name").asString())
+        .toList();
+
+    assertEquals(IntStream.range(0, 1_000).mapToObj(i -> "user\t" + i).toList(), results);
+  }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2020-2026, Antonio Gabriel Muñoz Conejo <me at tonivade dot es>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.purejson;
+
+import static com.github.tonivade.purejson.JsonDSL.array;
+import static com.github.tonivade.purejson.JsonDSL.entry;
+import static com.github.tonivade.purejson.JsonDSL.number;
+import static com.github.tonivade.purejson.JsonDSL.object;
+import static com.github.tonivade.purejson.JsonDSL.string;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class JsonFeederTest {
+
+  record User(Integer id, String name) {}
+
+  private static final String VALUES = """
+      {"id": 1, "name": "tó\\"ni😀", "tags": ["a]", {"b": "}"}]} 12.5e1
+      "str\\\\" null true [] -3
+      """;
+
+  @Test
+  void feedByteByByte() {
+    var feeder = JsonFeeder.nodes();
+    var result = new ArrayList<JsonNode>();
+
+    for (byte b : VALUES.getBytes(StandardCharsets.UTF_8)) {
+      feeder.feed(ByteBuffer.wrap(new byte[] { b }));
+      feeder.poll().ifPresent(result::add);
+    }
+    feeder.endOfInput();
+    feeder.poll().ifPresent(result::add);
+
+    assertAll(
+        () -> assertEquals(List.of(
+            object(entry("id", number(1L)), entry("name", string("tó\"ni😀")),
+                entry("tags", array(string("a]"), object(entry("b", string("}")))))),
+            number(125.0),
+            string("str\\"),
+            JsonNode.TRUE,
+            array(),
+            number(-3L)), result),
+        () -> assertTrue(feeder.isDone()));
+  }
+
+  @Test
+  void decodeValues() {
+    var feeder = new PureJson<User>().feeder();
+
+    feeder.feed(ByteBuffer.wrap("{\"id\": 1, \"name\": \"to".getBytes(StandardCharsets.UTF_8)));
+    var first = feeder.poll();
+    feeder.feed(ByteBuffer.wrap("ni\"}\n{\"id\": 2}".getBytes(StandardCharsets.UTF_8)));
+
+    assertAll(
+        () -> assertTrue(first.isEmpty()),
+        () -> assertEquals(new User(1, "toni"), feeder.poll().getOrElseThrow()),
+        () -> assertEquals(new User(2, null), feeder.poll().getOrElseThrow()),
+        () -> assertTrue(feeder.poll().isEmpty()));
+  }
+
+  @Test
+  void syntaxErrors() {
+    var incomplete = JsonFeeder.nodes();
+    incomplete.feed(ByteBuffer.wrap("[1, 2".getBytes(StandardCharsets.UTF_8)));
+
+    var invalid = JsonFeeder.nodes();
+
+    assertAll(
+        () -> assertThrows(JsonParseException.class, incomplete::endOfInput),
+        () -> assertThrows(IllegalStateException.class, () -> incomplete.feed(ByteBuffer.allocate(1))),
+        () -> assertEquals(7, assertThrows(JsonParseException.class,
+            () -> invalid.feed(ByteBuffer.wrap("[1] [2,]".getBytes(StandardCharsets.UTF_8)))).getOffset()));
+  }
+}
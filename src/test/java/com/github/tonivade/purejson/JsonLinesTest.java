@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2020-2026, Antonio Gabriel Muñoz Conejo <me at tonivade dot es>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.purejson;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+class JsonLinesTest {
+
+  record User(Integer id, String name) {}
+
+  private static final String LINES = """
+      {"id": 1, "name": "toni"}
+
+      {"id": 2}
+      {"id": "x"}
+      {"id": 3,
+      {"id": 4} {"id": 5}
+      null
+      {"id": 6}
+      """;
+
+  @Test
+  void readLines() {
+    var json = new PureJson<User>();
+
+    var result = json.fromJsonLines(new StringReader("""
+        {"id": 1, "name": "toni"}
+        {"id": 2}
+        """)).toList();
+
+    assertEquals(List.of(new User(1, "toni"), new User(2, null)), result);
+  }
+
+  @Test
+  void collectErrors() {
+    var json = new PureJson<User>();
+    var errors = new ArrayList<JsonLines.LineError>();
+
+    var result = json.fromJsonLines(
+        new ByteArrayInputStream(LINES.getBytes(StandardCharsets.UTF_8)), JsonLines.ErrorHandler.collect(errors)).toList();
+
+    assertAll(
+        () -> assertEquals(List.of(new User(1, "toni"), new User(2, null), new User(6, null)), result),
+        () -> assertEquals(List.of(4L, 5L, 6L), errors.stream().map(JsonLines.LineError::line).toList()),
+        () -> assertTrue(errors.get(1).cause() instanceof JsonParseException));
+  }
+
+  @Test
+  void lineBreakInsideOfEscapeSequence() {
+    var json = new PureJson<User>();
+    var lines = "{\"id\": 1, \"name\": \"abc\\\n{\"id\": 2}\n{\"id\": 3}\n";
+
+    for (var stream : List.of(
+        json.fromJsonLines(new StringReader(lines), JsonLines.ErrorHandler.skip()),
+        json.fromJsonLines(new ByteArrayInputStream(lines.getBytes(StandardCharsets.UTF_8)), JsonLines.ErrorHandler.skip()))) {
+      assertEquals(List.of(new User(2, null), new User(3, null)), stream.toList());
+    }
+
+    var errors = new ArrayList<JsonLines.LineError>();
+    var result = json.fromJsonLines(new StringReader(lines), JsonLines.ErrorHandler.collect(errors)).toList();
+
+    assertAll(
+        () -> assertEquals(List.of(new User(2, null), new User(3, null)), result),
+        () -> assertEquals(List.of(1L), errors.stream().map(JsonLines.LineError::line).toList()),
+        () -> assertTrue(errors.get(0).cause() instanceof JsonParseException));
+  }
+
+  @Test
+  void skipErrors() {
+    var json = new PureJson<User>();
+
+    var result = json.fromJsonLines(new StringReader(LINES), JsonLines.ErrorHandler.skip()).toList();
+
+    assertEquals(List.of(new User(1, "toni"), new User(2, null), new User(6, null)), result);
+  }
+
+  @Test
+  void failOnError() {
+    var json = new PureJson<User>();
+
+    var stream = json.fromJsonLines(new StringReader(LINES));
+
+    assertThrows(RuntimeException.class, stream::toList);
+  }
+
+  @Test
+  void readLinesInParallel() {
+    var json = new PureJson<User>();
+    var builder = new StringBuilder();
+    for (int i = 0; i < 10_000; i++) {
+      builder.append(i == 5_000 ? "{\"id\": error}" : "{\"id\": " + i + ", \"name\": \"user " + i + "\"}").append('\n');
+    }
+    var buffer = ByteBuffer.wrap(builder.toString().getBytes(StandardCharsets.UTF_8));
+    var errors = new ConcurrentLinkedQueue<JsonLines.LineError>();
+
+    var result = json.fromJsonLinesParallel(buffer, JsonLines.ErrorHandler.collect(errors), true).map(User::id).toList();
+
+    assertAll(
+        () -> assertEquals(9_999, result.size()),
+        () -> assertEquals(IntStream.range(0, 10_000).filter(i -> i != 5_000).boxed().toList(), result),
+        () -> assertEquals(List.of(5_001L), errors.stream().map(JsonLines.LineError::line).toList()));
+  }
+}
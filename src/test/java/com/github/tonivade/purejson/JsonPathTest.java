@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2020-2026, Antonio Gabriel Muñoz Conejo <me at tonivade dot es>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.purejson;
+
+import static com.github.tonivade.purejson.JsonDSL.array;
+import static com.github.tonivade.purejson.JsonDSL.number;
+import static com.github.tonivade.purejson.JsonDSL.string;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class JsonPathTest {
+
+  record Item(Integer id, String name) {}
+
+  private static final String JSON = """
+      {
+        "meta": {"count": 3, "tags": ["x", "y"]},
+        "data": {
+          "items": [
+            {"id": 1, "name": "one", "extra": {"deep": [1, 2, 3]}},
+            {"name": "two", "id": 2},
+            {"id": null, "name": "three"}
+          ],
+          "a/b": {"m~n": "escaped"},
+          "0": "zero"
+        }
+      }
+      """;
+
+  @Test
+  void selectTree() {
+    var root = new JsonReader(JSON).nextNode();
+
+    assertAll(
+        () -> assertEquals(List.of(number(1L), number(2L), JsonNode.NULL),
+            JsonPath.compile("$.data.items[*].id").select(root)),
+        () -> assertEquals(List.of(string("two")),
+            JsonPath.compile("$['data'].items[1].name").select(root)),
+        () -> assertEquals(List.of(number(3L), array(string("x"), string("y"))),
+            JsonPath.compile("$.meta.*").select(root)),
+        () -> assertEquals(List.of(string("x"), string("y")), JsonPath.compile("$.meta.*[*]").select(root)),
+        () -> assertEquals(List.of(root), JsonPath.compile("$").select(root)),
+        () -> assertEquals(List.of(), JsonPath.compile("$.data.items[3]").select(root)),
+        () -> assertEquals(List.of(), JsonPath.compile("$.data.missing").select(root)),
+        () -> assertEquals(List.of(), JsonPath.compile("$.data[0]").select(root)));
+  }
+
+  @Test
+  void pointer() {
+    var root = new JsonReader(JSON).nextNode();
+
+    assertAll(
+        () -> assertEquals(List.of(string("one")), JsonPath.compile("/data/items/0/name").select(root)),
+        () -> assertEquals(List.of(string("escaped")), JsonPath.compile("/data/a~1b/m~0n").select(root)),
+        () -> assertEquals(List.of(string("zero")), JsonPath.compile("/data/0").select(root)),
+        () -> assertEquals(List.of(root), JsonPath.compile("").select(root)),
+        () -> assertEquals(List.of(), JsonPath.compile("/data/items/01").select(root)),
+        () -> assertEquals(List.of(), JsonPath.compile("/data/items/-").select(root)));
+  }
+
+  @Test
+  void sameAsTree() {
+    var root = new JsonReader(JSON).nextNode();
+    var bytes = JSON.getBytes(StandardCharsets.UTF_8);
+    var lazy = PureJson.parseLazy(JSON).getOrElseThrow();
+
+    for (var expression : List.of("$.data.items[*].id", "$.data.items[*]", "$.data.*",
+        "$.meta.tags[1]", "/data/items/0/extra/deep/2", "/data/a~1b/m~0n", "/data/0", "$[*][*]", "")) {
+      var path = JsonPath.compile(expression);
+      assertAll(
+          () -> assertEquals(path.select(root), path.select(new JsonReader(JSON)), expression),
+          () -> assertEquals(path.select(root), path.select(new JsonReader(bytes)), expression),
+          () -> assertEquals(path.select(root), path.select(lazy), expression));
+    }
+  }
+
+  @Test
+  void decodeMatches() {
+    var path = JsonPath.compile("$.data.items[*]");
+    var adapter = JsonAdapter.adapter(Item.class);
+    var ids = new ArrayList<Integer>();
+
+    JsonPath.compile("$.data.items[*].id").select(new JsonReader(JSON), JsonAdapter.adapter(Integer.class), ids::add);
+
+    assertAll(
+        () -> assertEquals(List.of(new Item(1, "one"), new Item(2, "two"), new Item(null, "three")),
+            path.select(new JsonReader(JSON), adapter)),
+        () -> assertEquals(path.select(new JsonReader(JSON), adapter),
+            path.select(new JsonReader(JSON).nextNode(), adapter)),
+        () -> assertEquals(List.of(1, 2), ids),
+        () -> assertEquals(List.of(new Item(2, "two")),
+            new PureJson<>(adapter).select(JsonPath.compile("/data/items/1"), JSON).getOrElseThrow()),
+        () -> assertEquals(List.of(new Item(2, "two")),
+            new PureJson<>(adapter).select(JsonPath.compile("/data/items/1"),
+                JSON.getBytes(StandardCharsets.UTF_8)).getOrElseThrow()));
+  }
+
+  @Test
+  void invalidExpressions() {
+    assertAll(
+        () -> assertThrows(IllegalArgumentException.class, () -> JsonPath.compile("data")),
+        () -> assertThrows(IllegalArgumentException.class, () -> JsonPath.compile("$..id")),
+        () -> assertThrows(IllegalArgumentException.class, () -> JsonPath.compile("$.")),
+        () -> assertThrows(IllegalArgumentException.class, () -> JsonPath.compile("$[a]")),
+        () -> assertThrows(IllegalArgumentException.class, () -> JsonPath.compile("$[-1]")),
+        () -> assertThrows(IllegalArgumentException.class, () -> JsonPath.compile("$['a'")),
+        () -> assertThrows(IllegalArgumentException.class, () -> JsonPath.compile("$[0")),
+        () -> assertThrows(IllegalArgumentException.class, () -> JsonPath.compile("/a~2")));
+  }
+
+  @Test
+  void syntaxErrors() {
+    var path = JsonPath.compile("$.a");
+
+    assertAll(
+        () -> assertThrows(JsonParseException.class, () -> path.select(new JsonReader("{\"a\": 1, \"b\": [}"))),
+        () -> assertTrue(new PureJson<>(Integer.class).select(path, "{\"a\": 1} x").isFailure()));
+  }
+}
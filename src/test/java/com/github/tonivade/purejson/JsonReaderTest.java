@@ -0,0 +1,334 @@
+/*
+ * Copyright (c) 2020-2026, Antonio Gabriel Muñoz Conejo <me at tonivade dot es>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.purejson;
+
+import static com.github.tonivade.purejson.JsonDSL.array;
+import static com.github.tonivade.purejson.JsonDSL.entry;
+import static com.github.tonivade.purejson.JsonDSL.number;
+import static com.github.tonivade.purejson.JsonDSL.object;
+import static com.github.tonivade.purejson.JsonDSL.string;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.tonivade.purejson.JsonReader.Token;
+
+class JsonReaderTest {
+
+  @Test
+  void readTokens() {
+    var reader = new JsonReader("""
+        {"id": 1, "name": "to\\"ni", "roles": [true, null]}
+        """);
+
+    reader.beginObject();
+    assertEquals("id", reader.nextName());
+    assertEquals("1", reader.nextNumber());
+    assertEquals("name", reader.nextName());
+    assertEquals("to\"ni", reader.nextString());
+    assertEquals("roles", reader.nextName());
+    reader.beginArray();
+    assertTrue(reader.nextBoolean());
+    reader.nextNull();
+    assertFalse(reader.hasNext());
+    reader.endArray();
+    reader.endObject();
+    assertEquals(Token.END_DOCUMENT, reader.peek());
+  }
+
+  @Test
+  void skipValue() {
+    var reader = new JsonReader("""
+        {"skip": {"a": [1, 2, {"b": "c"}]}, "id": 1}
+        """);
+
+    reader.beginObject();
+    assertEquals("skip", reader.nextName());
+    reader.skipValue();
+    assertEquals("id", reader.nextName());
+    assertEquals("1", reader.nextNumber());
+    reader.endObject();
+  }
+
+  @Test
+  void nextNode() {
+    var reader = new JsonReader("""
+        {"id": 1, "values": ["a", 1.5]}
+        """);
+
+    var expected = object(entry("id", number(1L)), entry("values", array(string("a"), number(1.5))));
+
+    assertEquals(expected, reader.nextNode());
+  }
+
+  @Test
+  void readUtf8() {
+    var bytes = "{\"name\": \"á😀\\n\", \"skip\": \"é\"}".getBytes(StandardCharsets.UTF_8);
+
+    for (int bufferSize = 1; bufferSize < 8; bufferSize++) {
+      var reader = new JsonReader(new Utf8Input(new ByteArrayInputStream(bytes), bufferSize));
+
+      reader.beginObject();
+      assertEquals("name", reader.nextName());
+      assertEquals("á😀\n", reader.nextString());
+      assertEquals("skip", reader.nextName());
+      reader.skipValue();
+      reader.endObject();
+    }
+    assertEquals(object(entry("name", string("á😀\n")), entry("skip", string("é"))),
+        new JsonReader(new Utf8Input(bytes)).nextNode());
+  }
+
+  @Test
+  void invalidUtf8() {
+    // truncated sequence, overlong encoding and surrogate, all of them fit in the buffer
+    var invalid = List.of(
+        new byte[] { (byte) 0xc3, '(' },
+        new byte[] { (byte) 0xc0, (byte) 0xaf },
+        new byte[] { (byte) 0xed, (byte) 0xa0, (byte) 0x80 });
+
+    for (var sequence : invalid) {
+      var plain = json("[\"a", sequence, "b\"]");
+      var escaped = json("[\"\\n", sequence, "\"]");
+      var name = json("{\"a", sequence, "\": 1}");
+      var skipped = json("{\"a\": \"", sequence, "\"}");
+
+      assertAll(
+          () -> assertThrows(JsonParseException.class, () -> new JsonReader(plain).nextNode()),
+          () -> assertThrows(JsonParseException.class, () -> new JsonReader(escaped).nextNode()),
+          () -> assertThrows(JsonParseException.class, () -> new JsonReader(name).nextNode()),
+          () -> assertThrows(JsonParseException.class, () -> {
+            var reader = new JsonReader(skipped);
+            reader.beginObject();
+            reader.nextName();
+            reader.skipValue();
+          }));
+    }
+  }
+
+  @Test
+  void nonAsciiHexDigits() {
+    // arabic-indic digits are digits but not valid in an unicode escape sequence
+    var json = "[\"\\u\u0660\u0660\u0664\u0661\"]";
+    var bytes = json.getBytes(StandardCharsets.UTF_8);
+
+    assertAll(
+        () -> assertEquals(array(string("A")), new JsonReader("[\"\\u0041\"]").nextNode()),
+        () -> assertThrows(JsonParseException.class, () -> new JsonReader(json).nextNode()),
+        () -> assertThrows(JsonParseException.class,
+            () -> new JsonReader(new CharInput(new StringReader(json))).nextNode()),
+        () -> assertThrows(JsonParseException.class, () -> new JsonReader(bytes).nextNode()),
+        () -> assertThrows(JsonParseException.class,
+            () -> new JsonReader(new Utf8Input(new ByteArrayInputStream(bytes))).nextNode()),
+        () -> assertThrows(JsonParseException.class, () -> Tape.parse(json)));
+  }
+
+  @Test
+  void readBuffers() {
+    var bytes = "[\"á😀\", 12345, {\"a\": null}]".getBytes(StandardCharsets.UTF_8);
+    var buffers = new ArrayList<ByteBuffer>();
+    for (int i = 0; i < bytes.length; i += 3) {
+      var buffer = ByteBuffer.allocateDirect(Math.min(3, bytes.length - i));
+      buffer.put(bytes, i, buffer.capacity()).flip();
+      buffers.add(buffer);
+    }
+
+    var reader = new JsonReader(Utf8Input.of(buffers));
+
+    assertEquals(array(string("á😀"), number(12345L), object(entry("a", JsonNode.NULL))), reader.nextNode());
+  }
+
+  @Test
+  void nextToken() {
+    var reader = new JsonReader(new StringReader("""
+        {"id": 1, "values": [true, null]}
+        """));
+
+    assertAll(
+        () -> assertEquals(Token.BEGIN_OBJECT, reader.nextToken()),
+        () -> assertEquals(Token.NAME, reader.nextToken()),
+        () -> assertEquals("id", reader.getText()),
+        () -> assertEquals(Token.NUMBER, reader.nextToken()),
+        () -> assertEquals("1", reader.getText()),
+        () -> assertEquals(Token.NAME, reader.nextToken()),
+        () -> assertEquals(Token.BEGIN_ARRAY, reader.nextToken()),
+        () -> assertEquals(Token.BOOLEAN, reader.nextToken()),
+        () -> assertEquals("true", reader.getText()),
+        () -> assertEquals(Token.NULL, reader.nextToken()),
+        () -> assertNull(reader.getText()),
+        () -> assertEquals(Token.END_ARRAY, reader.nextToken()),
+        () -> assertEquals(Token.END_OBJECT, reader.nextToken()),
+        () -> assertEquals(Token.END_DOCUMENT, reader.nextToken()));
+  }
+
+  @Test
+  void numbers() {
+    var reader = new JsonReader("[1, -2, 1e2, 1.5, 9223372036854775807, 2147483648, 1.5]".getBytes(StandardCharsets.UTF_8));
+
+    reader.beginArray();
+    assertAll(
+        () -> assertEquals(1, reader.nextInt()),
+        () -> assertEquals(-2L, reader.nextLong()),
+        () -> assertEquals(100L, reader.nextLong()),
+        () -> assertEquals(1.5, reader.nextDouble()),
+        () -> assertEquals(Long.MAX_VALUE, reader.nextLong()),
+        () -> assertThrows(NumberFormatException.class, reader::nextInt),
+        () -> assertThrows(NumberFormatException.class, reader::nextLong));
+  }
+
+  @Test
+  void numberNodes() {
+    var array = new JsonReader("[1, 1.50, 0.1000000000000000000001, 123456789012345678901]").nextNode().asArray();
+
+    assertAll(
+        () -> assertEquals(new JsonNode.JsonLong(1), array.get(0)),
+        () -> assertEquals(number(1.5), array.get(1)),
+        () -> assertEquals(number(1.5).hashCode(), array.get(1).hashCode()),
+        () -> assertEquals(new BigDecimal("0.1000000000000000000001"), array.get(2).asBigDecimal()),
+        () -> assertEquals(new BigInteger("123456789012345678901"), array.get(3).asBigInteger()),
+        () -> assertEquals("[1,1.50,0.1000000000000000000001,123456789012345678901]", array.toString()));
+  }
+
+  @Test
+  void numberEquality() {
+    var array = new JsonReader("[1, 12345678901234567890, 12345678901234567891, 1.50, 15e-1, 1e1000000000]").nextNode().asArray();
+
+    assertAll(
+        () -> assertEquals(new JsonNode.JsonNumber(1L), array.get(0)),
+        () -> assertEquals(array.get(0), new JsonNode.JsonNumber(1)),
+        () -> assertEquals(new JsonNode.JsonNumber(1L).hashCode(), array.get(0).hashCode()),
+        () -> assertNotEquals(array.get(1), array.get(2)),
+        () -> assertEquals(new JsonNode.JsonNumber(new BigInteger("12345678901234567890")), array.get(1)),
+        () -> assertEquals(array.get(3), array.get(4)),
+        () -> assertEquals(array.get(3).hashCode(), array.get(4).hashCode()),
+        () -> assertEquals(number(1.5F), array.get(3)),
+        () -> assertEquals(new JsonNode.JsonNumber(1.5F), number(1.5F)),
+        () -> assertEquals("1.1", number(1.1F).toString()),
+        () -> assertThrows(NumberFormatException.class, () -> array.get(5).asBigInteger()));
+  }
+
+  @Test
+  void sameNames() {
+    var first = new JsonReader("{\"name\": 1}");
+    var second = new JsonReader("{\"name\": 2}".getBytes(StandardCharsets.UTF_8));
+    var escaped = new JsonReader("{\"na\\u006de\": 3}");
+
+    first.beginObject();
+    second.beginObject();
+    escaped.beginObject();
+
+    var name = first.nextName();
+    assertAll(
+        () -> assertSame(name, second.nextName()),
+        () -> assertSame(name, escaped.nextName()));
+  }
+
+  @Test
+  void selectName() {
+    var options = JsonReader.Options.of("id", "name", "café");
+    var json = "{\"name\": 1, \"other\": [2, {\"id\": 3}], \"i\\u0064\": 4, \"café\": 5, \"caf\": 6}";
+
+    for (var reader : List.of(new JsonReader(json), new JsonReader(json.getBytes(StandardCharsets.UTF_8)))) {
+      var selected = new ArrayList<Integer>();
+      reader.beginObject();
+      while (reader.hasNext()) {
+        selected.add(reader.selectName(options));
+        reader.skipValue();
+      }
+      reader.endObject();
+      reader.endDocument();
+
+      assertEquals(List.of(1, -1, 0, 2, -1), selected);
+    }
+  }
+
+  @Test
+  void sameHashCodeOptions() {
+    // "Aa" and "BB" have the same hash code
+    var options = JsonReader.Options.of("Aa", "BB", "C");
+    var reader = new JsonReader("{\"BB\": 1, \"Aa\": 2, \"C\": 3, \"AaBB\": 4}");
+
+    reader.beginObject();
+    var selected = new ArrayList<Integer>();
+    while (reader.hasNext()) {
+      selected.add(reader.selectName(options));
+      reader.skipValue();
+    }
+
+    assertEquals(List.of(1, 0, 2, -1), selected);
+  }
+
+  @Test
+  void decodePrimitivesFromTokens() {
+    var json = "[1.5, 12345678901234567890, \"a\", true, null]";
+
+    var reader = new JsonReader(json);
+    reader.beginArray();
+    var fromTokens = List.of(
+        JsonDecoderModule.INTEGER.decode(reader),
+        JsonDecoderModule.LONG.decode(reader),
+        JsonDecoderModule.STRING.decode(reader),
+        JsonDecoderModule.BOOLEAN.decode(reader));
+    var nullValue = JsonDecoderModule.DOUBLE.decode(reader);
+    reader.endArray();
+
+    var array = new JsonReader(json).nextNode().asArray();
+    var fromNodes = List.of(
+        JsonDecoderModule.INTEGER.decode(array.get(0)),
+        JsonDecoderModule.LONG.decode(array.get(1)),
+        JsonDecoderModule.STRING.decode(array.get(2)),
+        JsonDecoderModule.BOOLEAN.decode(array.get(3)));
+
+    assertEquals(fromNodes, fromTokens);
+    assertNull(nullValue);
+  }
+
+  @Test
+  void duplicatedOptions() {
+    assertThrows(IllegalArgumentException.class, () -> JsonReader.Options.of("a", "b", "a"));
+  }
+
+  @Test
+  void syntaxErrors() {
+    assertAll(
+        () -> assertThrows(JsonParseException.class, () -> new JsonReader("").nextNode()),
+        () -> assertThrows(JsonParseException.class, () -> new JsonReader("[1,]").nextNode()),
+        () -> assertThrows(JsonParseException.class, () -> new JsonReader("{\"a\"}").nextNode()),
+        () -> assertThrows(JsonParseException.class, () -> new JsonReader("\"abc").nextNode()),
+        () -> assertThrows(JsonParseException.class, () -> new JsonReader("[1 2]").nextNode()));
+  }
+
+  @Test
+  void unexpectedToken() {
+    var reader = new JsonReader("[1]");
+
+    assertThrows(IllegalStateException.class, reader::beginObject);
+  }
+
+  private static byte[] json(String prefix, byte[] content, String suffix) {
+    var output = new ByteArrayOutputStream();
+    output.writeBytes(prefix.getBytes(StandardCharsets.UTF_8));
+    output.writeBytes(content);
+    output.writeBytes(suffix.getBytes(StandardCharsets.UTF_8));
+    return output.toByteArray();
+  }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2020-2026, Antonio Gabriel Muñoz Conejo <me at tonivade dot es>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.purejson;
+
+import static com.github.tonivade.purejson.JsonDSL.array;
+import static com.github.tonivade.purejson.JsonDSL.entry;
+import static com.github.tonivade.purejson.JsonDSL.number;
+import static com.github.tonivade.purejson.JsonDSL.object;
+import static com.github.tonivade.purejson.JsonDSL.string;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayOutputStream;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+class JsonWriterTest {
+
+  @Test
+  void writeTokens() {
+    var output = new StringWriter();
+    var writer = new JsonWriter(output);
+
+    writer.beginObject()
+      .name("id").value(1)
+      .name("name").value("to\"ni\n")
+      .name("roles").beginArray().value(true).nullValue().value(1.5).endArray()
+      .endObject()
+      .flush();
+
+    assertEquals("{\"id\":1,\"name\":\"to\\\"ni\\n\",\"roles\":[true,null,1.5]}", output.toString());
+  }
+
+  @Test
+  void writeNode() {
+    var node = object(entry("id", number(1)), entry("values", array(string("á"), number(2.0))));
+
+    assertEquals("{\"id\":1,\"values\":[\"á\",2]}", node.toString());
+  }
+
+  @Test
+  void writeUtf8() {
+    var value = "á€😀\u0001";
+    var expected = "\"á€😀\\u0001\"";
+
+    var stream = new ByteArrayOutputStream();
+    new JsonWriter(stream).value(value).flush();
+
+    var buffer = ByteBuffer.allocate(32);
+    new JsonWriter(buffer).value(value).flush();
+
+    assertAll(
+        () -> assertEquals(expected, stream.toString(StandardCharsets.UTF_8)),
+        () -> assertEquals(expected, new String(buffer.array(), 0, buffer.position(), StandardCharsets.UTF_8)));
+  }
+
+  @Test
+  void invalidState() {
+    assertAll(
+        () -> assertThrows(IllegalStateException.class, () -> new JsonWriter(new StringWriter()).beginObject().value(1)),
+        () -> assertThrows(IllegalStateException.class, () -> new JsonWriter(new StringWriter()).beginArray().name("a")),
+        () -> assertThrows(IllegalStateException.class, () -> new JsonWriter(new StringWriter()).beginArray().endObject()),
+        () -> assertThrows(IllegalStateException.class, () -> new JsonWriter(new StringWriter()).value(1).value(2)));
+  }
+}
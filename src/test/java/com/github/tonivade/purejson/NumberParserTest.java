@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2020-2026, Antonio Gabriel Muñoz Conejo <me at tonivade dot es>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.purejson;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class NumberParserTest {
+
+  @Test
+  void integers() {
+    assertAll(
+        () -> assertEquals(0L, NumberParser.parse("-0")),
+        () -> assertEquals(123L, NumberParser.parse("123")),
+        () -> assertEquals(Long.MAX_VALUE, NumberParser.parse("9223372036854775807")),
+        () -> assertEquals(Long.MIN_VALUE, NumberParser.parse("-9223372036854775808")),
+        () -> assertEquals(new BigInteger("9223372036854775808"), NumberParser.parse("9223372036854775808")),
+        () -> assertEquals(new BigInteger("-123456789012345678901"), NumberParser.parse("-123456789012345678901")),
+        () -> assertEquals(100.0, NumberParser.parse("1e2")),
+        () -> assertEquals(1.0, NumberParser.parse("1.0")));
+  }
+
+  @Test
+  void doubles() {
+    assertAll(
+        () -> assertEquals(-0.0, NumberParser.parseDouble("-0.0")),
+        () -> assertEquals(0.1, NumberParser.parseDouble("0.1")),
+        () -> assertEquals(1e23, NumberParser.parseDouble("1e23")),
+        () -> assertEquals(Double.MAX_VALUE, NumberParser.parseDouble("1.7976931348623157e308")),
+        () -> assertEquals(Double.MIN_VALUE, NumberParser.parseDouble("4.9e-324")),
+        () -> assertEquals(Double.MIN_NORMAL, NumberParser.parseDouble("2.2250738585072014E-308")),
+        () -> assertEquals(Double.POSITIVE_INFINITY, NumberParser.parseDouble("1e400")),
+        () -> assertEquals(1.0000000000000002, NumberParser.parseDouble("1.00000000000000011102230246251565404236316680908203126")),
+        () -> assertEquals(1.0, NumberParser.parseDouble("1.00000000000000011102230246251565404236316680908203125")));
+  }
+
+  @Test
+  void sameAsParseDouble() {
+    var random = new Random(42);
+    for (int i = 0; i < 100_000; i++) {
+      var number = switch (i % 3) {
+        case 0 -> Double.toString(Double.longBitsToDouble(random.nextLong() & Long.MAX_VALUE));
+        case 1 -> Long.toUnsignedString(random.nextLong() >>> random.nextInt(64)) + "e" + (random.nextInt(700) - 350);
+        default -> random.nextInt(100_000) + "." + random.nextInt(1_000_000);
+      };
+      if (number.contains("NaN") || number.contains("Infinity")) {
+        continue;
+      }
+
+      assertEquals(Double.parseDouble(number), NumberParser.parseDouble(number), number);
+    }
+  }
+}
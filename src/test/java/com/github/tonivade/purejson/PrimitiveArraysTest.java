@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2020-2026, Antonio Gabriel Muñoz Conejo <me at tonivade dot es>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.purejson;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.StringWriter;
+import java.util.Base64;
+import java.util.Objects;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+class PrimitiveArraysTest {
+
+  record Embedding(String id, float[] vector, long[] timestamps) {}
+
+  record Blob(String id, byte[] data) {}
+
+  @Test
+  void encode() {
+    assertAll(
+        () -> assertEquals("[1,2,3]", encode(new int[] { 1, 2, 3 })),
+        () -> assertEquals("[-9223372036854775808,0]", encode(new long[] { Long.MIN_VALUE, 0 })),
+        () -> assertEquals("[1,-2]", encode(new short[] { 1, -2 })),
+        () -> assertEquals("[-128,127]", encode(new byte[] { -128, 127 })),
+        () -> assertEquals("[0.1,1.5,2]", encode(new float[] { 0.1F, 1.5F, 2F })),
+        () -> assertEquals("[0.1,1.5,2]", encode(new double[] { 0.1, 1.5, 2 })),
+        () -> assertEquals("[true,false]", encode(new boolean[] { true, false })),
+        () -> assertEquals("[\"a\",\"\\\"\"]", encode(new char[] { 'a', '"' })),
+        () -> assertEquals("[]", encode(new int[0])));
+  }
+
+  @Test
+  void decode() {
+    assertAll(
+        () -> assertArrayEquals(new int[] { 1, 2, 3 }, decode(int[].class, "[1,2,3]")),
+        () -> assertArrayEquals(new long[] { Long.MAX_VALUE, 1 }, decode(long[].class, "[9223372036854775807,1.0]")),
+        () -> assertArrayEquals(new short[] { 1, -2 }, decode(short[].class, "[1,-2]")),
+        () -> assertArrayEquals(new byte[] { -128, 127 }, decode(byte[].class, "[-128,127]")),
+        () -> assertArrayEquals(new byte[] { 1, 2, 3 }, decode(byte[].class, "\"AQID\"")),
+        () -> assertArrayEquals(new float[] { 0.1F, 1.5F }, decode(float[].class, "[0.1,1.5]")),
+        () -> assertArrayEquals(new double[] { 0.1, 1e-3 }, decode(double[].class, "[0.1,1e-3]")),
+        () -> assertArrayEquals(new boolean[] { true, false }, decode(boolean[].class, "[true,false]")),
+        () -> assertArrayEquals(new char[] { 'a', 'b' }, decode(char[].class, "[\"a\",\"b\"]")),
+        () -> assertArrayEquals(new int[0], decode(int[].class, "[]")),
+        () -> assertThrows(IllegalArgumentException.class, () -> decode(int[].class, "{}")));
+  }
+
+  @Test
+  void growArrays() {
+    var values = IntStream.range(0, 1000).toArray();
+
+    assertArrayEquals(values, decode(int[].class, encode(values)));
+  }
+
+  @Test
+  void record() {
+    var adapter = JsonAdapter.adapter(Embedding.class);
+    var value = new Embedding("a", new float[] { 0.25F, -1F }, new long[] { 1L, 2L });
+
+    var json = adapter.encode(value).toString();
+    var result = adapter.decode(new JsonReader(json));
+
+    assertAll(
+        () -> assertEquals("{\"id\":\"a\",\"vector\":[0.25,-1],\"timestamps\":[1,2]}", json),
+        () -> assertArrayEquals(value.vector(), result.vector()),
+        () -> assertArrayEquals(value.timestamps(), result.timestamps()));
+  }
+
+  @Test
+  void base64() {
+    var adapter = JsonAdapter.BASE64;
+    for (int length = 0; length < 10; length++) {
+      var bytes = new byte[length];
+      for (int i = 0; i < length; i++) {
+        bytes[i] = (byte) (i * 97 - 50);
+      }
+      var output = new StringWriter();
+      var writer = new JsonWriter(output);
+      adapter.encode(bytes, writer);
+      writer.flush();
+
+      var expected = "\"" + Base64.getEncoder().encodeToString(bytes) + "\"";
+      assertAll(
+          () -> assertEquals(expected, output.toString()),
+          () -> assertEquals(expected, adapter.encode(bytes).toString()),
+          () -> assertArrayEquals(bytes, adapter.decode(new JsonReader(output.toString()))),
+          () -> assertArrayEquals(bytes, adapter.decode(new JsonReader(output.toString()).nextNode())),
+          () -> assertArrayEquals(bytes, decode(byte[].class, output.toString())));
+    }
+  }
+
+  @Test
+  void base64Field() {
+    var adapter = JsonAdapter.builder(Blob.class)
+        .addString("id", Blob::id)
+        .addObject("data", Blob::data, JsonAdapter.BASE64)
+        .build();
+    var value = new Blob("a", new byte[] { 1, 2, 3 });
+
+    var json = adapter.encode(value).toString();
+    var result = adapter.decode(new JsonReader(json));
+
+    assertAll(
+        () -> assertEquals("{\"id\":\"a\",\"data\":\"AQID\"}", json),
+        () -> assertEquals("[1,2,3]", encode(value.data())),
+        () -> assertArrayEquals(value.data(), result.data()));
+  }
+
+  private static String encode(Object value) {
+    @SuppressWarnings("unchecked")
+    var encoder = (JsonEncoder<Object>) PrimitiveArrays.encoder(value.getClass());
+    var output = new StringWriter();
+    var writer = new JsonWriter(output);
+    encoder.encode(value, writer);
+    writer.flush();
+    assertEquals(encoder.encode(value).toString(), output.toString());
+    return output.toString();
+  }
+
+  private static <T> T decode(Class<T> type, String json) {
+    var decoder = JsonDecoder.<T>decoder(type);
+    var result = decoder.decode(new JsonReader(json));
+    var tree = decoder.decode(new JsonReader(json).nextNode());
+    assertTrue(Objects.deepEquals(result, tree));
+    return result;
+  }
+}
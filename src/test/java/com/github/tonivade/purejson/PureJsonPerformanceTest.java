@@ -25,6 +25,7 @@ import com.github.tonivade.purefun.typeclasses.Instances;
 import com.google.gson.GsonBuilder;
 import java.util.List;
 import java.util.Objects;
+import java.util.Random;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
@@ -113,6 +114,21 @@ class PureJsonPerformanceTest {
     runPerf("parse pojo", listOf(reflectionStats, builderStats, annotationStats, gsonStats));
   }
 
+  @Test
+  void parsePerformanceNumbers() {
+    var listOfDoubles = new TypeToken<List<Double>>() { }.getType();
+    var reflection = new PureJson<>(listOfDoubles);
+    var gson = new GsonBuilder().create();
+
+    int times = 5000;
+    int warmup = 50;
+    var reflectionStats = ioPerfCase("reflection", parseNumbersTask(string -> reflection.fromJson(string))).warmup(warmup).run(times);
+    var treeStats = ioPerfCase("tree", parseNumbersTask(string -> PureJson.parse(string))).warmup(warmup).run(times);
+    var gsonStats = ioPerfCase("gson", parseNumbersTask(string -> gson.fromJson(string, listOfDoubles))).warmup(warmup).run(times);
+
+    runPerf("parse numbers", listOf(reflectionStats, treeStats, gsonStats));
+  }
+
   @Test
   void serializePerformanceRecord() {
     var listOfValues = new TypeToken<List<Value>>() { }.getType();
@@ -174,6 +190,15 @@ class PureJsonPerformanceTest {
     return () -> parser.apply(listOfUsers);
   }
 
+  private <R> Producer<R> parseNumbersTask(Function1<String, R> parser) {
+    var random = new Random(42);
+
+    var listOfNumbers = Stream.generate(() -> random.nextDouble() * 1000)
+      .limit(10_000).map(String::valueOf).collect(joining(",", "[", "]"));
+
+    return () -> parser.apply(listOfNumbers);
+  }
+
   private JsonAdapter<Iterable<Pojo>> builderPojoAdapter() {
     return iterableAdapter(
       JsonAdapter.builder(Pojo.class)
@@ -18,22 +18,30 @@ import static com.github.tonivade.purefun.type.Option.some;
 import static com.github.tonivade.purefun.type.Try.success;
 import static java.util.Arrays.asList;
 import static java.util.Collections.singletonMap;
+import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
 import java.lang.reflect.Type;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Deque;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableSet;
 import java.util.Objects;
 import java.util.Set;
+import java.util.TreeSet;
 
 import org.junit.jupiter.api.Test;
 
-import com.eclipsesource.json.ParseException;
 import com.github.tonivade.purecheck.spec.IOTestSpec;
 import com.github.tonivade.purefun.core.Equal;
 import com.github.tonivade.purefun.data.ImmutableArray;
@@ -132,6 +140,22 @@ class PureJsonTest extends IOTestSpec<String> {
 
   enum EnumTest { VAL1, VAL2 }
 
+  @Test
+  void syntaxErrorsFromAllInputs() {
+    var json = "{\"id\": 1,}";
+    var bytes = json.getBytes(StandardCharsets.UTF_8);
+    var adapter = new PureJson<User>(User.class);
+
+    assertAll(
+        () -> assertInstanceOf(JsonParseException.class, PureJson.parse(json).getCause()),
+        () -> assertInstanceOf(JsonParseException.class, PureJson.parse(new StringReader(json)).getCause()),
+        () -> assertInstanceOf(JsonParseException.class, PureJson.parse(bytes).getCause()),
+        () -> assertInstanceOf(JsonParseException.class, PureJson.parse(new ByteArrayInputStream(bytes)).getCause()),
+        () -> assertInstanceOf(JsonParseException.class, PureJson.parseLazy(json).getCause()),
+        () -> assertInstanceOf(JsonParseException.class, adapter.fromJson(json).getCause()),
+        () -> assertInstanceOf(JsonParseException.class, adapter.fromJson(bytes).getCause()));
+  }
+
   @Test
   void serializeObject() {
 
@@ -663,6 +687,22 @@ class PureJsonTest extends IOTestSpec<String> {
     assertSuccessSome(new Test(Set.of("one", "two", "three")), result);
   }
 
+  @Test
+  void parseNestedCollections() {
+
+    record Test(List<List<Integer>> lists, NavigableSet<Integer> sorted, Deque<String> deque) {}
+
+    var string = """
+        {"lists":[[1,2],[],[3]],"sorted":[3,1,2],"deque":["one","two"]}
+        """.strip();
+
+    var result = new PureJson<Test>().fromJson(string).getOrElseThrow().getOrElseThrow();
+
+    assertEquals(List.of(List.of(1, 2), List.of(), List.of(3)), result.lists());
+    assertEquals(new TreeSet<>(Set.of(1, 2, 3)), result.sorted());
+    assertEquals(List.of("one", "two"), List.copyOf(result.deque()));
+  }
+
   @Test
   void parseInnerMap() {
 
@@ -780,12 +820,12 @@ class PureJsonTest extends IOTestSpec<String> {
         it.should("fail when invalid json syntax")
           .given("this is wrong")
           .when(json -> new PureJson<User>().fromJson(json))
-          .then(instanceOf(ParseException.class).compose(Try::getCause)),
+          .then(instanceOf(JsonParseException.class).compose(Try::getCause)),
 
         it.should("fail when empty string")
           .given("")
           .when(json -> new PureJson<User>().fromJson(json))
-          .then(instanceOf(ParseException.class).compose(Try::getCause)),
+          .then(instanceOf(JsonParseException.class).compose(Try::getCause)),
 
         it.should("fail when null string")
           .<String>givenNull()
@@ -946,6 +986,60 @@ class PureJsonTest extends IOTestSpec<String> {
         ).run().assertion();
   }
 
+  @Test
+  void cacheAdapters() {
+    var listOfUsers1 = new TypeToken<List<User>>() {}.getType();
+    var listOfUsers2 = new TypeToken<List<User>>() {}.getType();
+
+    assertSame(JsonAdapter.adapter(listOfUsers1), JsonAdapter.adapter(listOfUsers2));
+    assertSame(JsonEncoder.encoder(listOfUsers1), JsonEncoder.encoder(listOfUsers2));
+    assertSame(JsonDecoder.decoder(listOfUsers1), JsonDecoder.decoder(listOfUsers2));
+    assertSame(JsonAdapter.adapter(User.class), JsonAdapter.adapter(User.class));
+  }
+
+  @Test
+  void parseMissingPrimitives() {
+    record Test(int id, boolean active, String name) {}
+
+    assertAll(
+        () -> assertSuccessSome(new Test(0, false, "toni"), new PureJson<Test>().fromJson("{\"name\":\"toni\"}")),
+        () -> assertSuccessSome(new Test(0, false, null), new PureJson<Test>().fromJson("{\"id\":null}")),
+        () -> assertSuccessSome(new Creator(0, "toni:0"), new PureJson<Creator>().fromJson("{\"name\":\"toni\"}")),
+        () -> assertSuccessSome(new Creator(1, "toni:2"),
+            new PureJson<Creator>().fromJson("{\"id\":1,\"name\":\"toni\",\"version\":2}")));
+  }
+
+  static final class Creator {
+
+    private final int id;
+    private final String name;
+
+    @JsonCreator
+    Creator(@JsonProperty("id") int id, @JsonProperty("name") String name, @JsonProperty("version") long version) {
+      this(id, name + ":" + version);
+    }
+
+    Creator(int id, String name) {
+      this.id = id;
+      this.name = name;
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(id, name);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      return obj instanceof Creator other && id == other.id && Objects.equals(name, other.name);
+    }
+
+    @Override
+    public String toString() {
+      return "Creator(" + id + ", " + name + ")";
+    }
+  }
+
   private static <T> List<T> listWithNull() {
     var list = new ArrayList<T>();
     list.add(null);
@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2020-2026, Antonio Gabriel Muñoz Conejo <me at tonivade dot es>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.purejson;
+
+import static com.github.tonivade.purejson.JsonDSL.string;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+class TapeTest {
+
+  private static final String JSON = """
+      {"id": 1, "na\\u006de": "to\\"ni", "roles": ["a", [], {}, 1.5, true, null], "id": 2, "nested": {"x": [1, 2, 3]}}
+      """;
+
+  @Test
+  void sameAsTree() {
+    var expected = new JsonReader(JSON).nextNode();
+
+    var node = Tape.parse(JSON);
+
+    assertAll(
+        () -> assertEquals(expected, node),
+        () -> assertEquals(expected.hashCode(), node.hashCode()),
+        () -> assertEquals(expected.toString(), node.toString()));
+  }
+
+  @Test
+  void lazyAccess() {
+    var node = Tape.parse(JSON).asObject();
+
+    var roles = node.get("roles").asArray();
+
+    assertAll(
+        () -> assertEquals(2, node.get("id").asInt()),
+        () -> assertEquals(string("to\"ni"), node.get("name")),
+        () -> assertEquals(JsonNode.NULL, node.get("missing")),
+        () -> assertEquals(3, node.get("nested").asObject().get("x").asArray().get(2).asInt()),
+        () -> assertEquals(6, roles.size()),
+        () -> assertEquals(1.5, roles.get(3).asDouble()),
+        () -> assertEquals(JsonNode.TRUE, roles.get(4)));
+  }
+
+  @Test
+  void wideObject() {
+    var builder = new StringBuilder("{");
+    for (int i = 0; i < 100; i++) {
+      builder.append("\"field").append(i).append("\": ").append(i).append(", ");
+    }
+    var json = builder.append("\"fie\\u006cd7\": -1}").toString();
+
+    var node = Tape.parse(json).asObject();
+
+    assertAll(
+        () -> assertEquals(0, node.get("field0").asInt()),
+        () -> assertEquals(99, node.get("field99").asInt()),
+        () -> assertEquals(-1, node.get("field7").asInt()),
+        () -> assertEquals(JsonNode.NULL, node.get("missing")),
+        () -> assertEquals(new JsonReader(json).nextNode(), node));
+  }
+
+  @Test
+  void syntaxErrors() {
+    assertThrows(JsonParseException.class, () -> Tape.parse("{\"a\": [1,]}"));
+  }
+}
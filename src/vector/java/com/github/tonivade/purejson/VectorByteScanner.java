@@ -0,0 +1,40 @@
+/*
+ * Copyright (c) 2020-2026, Antonio Gabriel Muñoz Conejo <me at tonivade dot es>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.purejson;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * {@link ByteScanner} that checks 16, 32 or 64 bytes at a time, depending on the preferred vector
+ * size of the platform. It's loaded only when the {@code jdk.incubator.vector} module is enabled.
+ */
+final class VectorByteScanner implements ByteScanner {
+
+  private static final VectorSpecies<Byte> SPECIES = ByteVector.SPECIES_PREFERRED;
+  // most of the names and short values end before this, it's cheaper to check them one by one
+  private static final int SCALAR_PREFIX = 16;
+
+  @Override
+  public int scanString(byte[] buffer, int start, int end) {
+    int prefix = Math.min(end, start + SCALAR_PREFIX);
+    int i = ByteScanner.scalarScanString(buffer, start, prefix);
+    if (i < prefix) {
+      return i;
+    }
+    int bound = i + SPECIES.loopBound(end - i);
+    for (; i < bound; i += SPECIES.length()) {
+      var vector = ByteVector.fromArray(SPECIES, buffer, i);
+      var mask = vector.eq((byte) '"')
+          .or(vector.eq((byte) '\\'))
+          .or(vector.compare(VectorOperators.UNSIGNED_LT, (byte) 0x20));
+      if (mask.anyTrue()) {
+        return i + mask.firstTrue();
+      }
+    }
+    return ByteScanner.scalarScanString(buffer, i, end);
+  }
+}